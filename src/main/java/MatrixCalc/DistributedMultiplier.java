@@ -0,0 +1,201 @@
+package MatrixCalc;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Coordinator for multiplying matrices on several MatrixWorker processes. The result matrix is divided into square
+ * tiles, and the tiles are queued as tasks. For each tile the matching row panel of the first matrix and column
+ * panel of the second matrix are sent to a worker, which multiplies them with the in-core kernel and returns the
+ * tile. Every worker has its own connection and pulls tiles from the shared queue, so faster workers take more
+ * tiles. If a worker cannot be reached or its connection fails, the tile it was working on is put back in the queue
+ * for the remaining workers. The multiplication fails only if every worker has failed.
+ */
+public final class DistributedMultiplier {
+    /**
+     * Milliseconds to wait for a connection to a worker before treating it as failed.
+     */
+    private static final int CONNECT_TIMEOUT = 5000;
+
+    private final List<InetSocketAddress> workers;
+    private final int tileSize;
+    private final int readTimeout;
+
+    /**
+     * Creates a coordinator for the given workers.
+     *
+     * @param workers     Addresses of the workers
+     * @param tileSize    Side length of the result tiles, must be at least 1
+     * @param readTimeout Milliseconds to wait for a tile before treating the worker as failed, 0 to wait forever
+     */
+    public DistributedMultiplier(List<InetSocketAddress> workers, int tileSize, int readTimeout) {
+        if (workers.isEmpty()) {
+            throw new IllegalArgumentException("At least one worker is required");
+        }
+        if (tileSize < 1 || readTimeout < 0) {
+            throw new IllegalArgumentException("Tile size must be positive and timeout must not be negative");
+        }
+        this.workers = new ArrayList<>(workers);
+        this.tileSize = tileSize;
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Checks that the matrices are rectangular and that the row count of firstMatrix equals the column count of
+     * secondMatrix, and multiplies them on the workers.
+     *
+     * @param firstMatrix  First matrix used in the multiplication
+     * @param secondMatrix Second matrix used in the multiplication
+     * @return Returns the result of the multiplication as a 2-dimensional double array
+     * @throws IllegalStateException If every worker failed before all tiles were calculated
+     */
+    public double[][] multiply(double[][] firstMatrix, double[][] secondMatrix) {
+        if (!MatrixCalc.isValidMultiplication(firstMatrix, secondMatrix)) {
+            throw new IllegalArgumentException("Both matrices must be rectangular, and the row length of firstMatrix " +
+                    "must equal the column length of secondMatrix");
+        }
+        double[][] ret = new double[firstMatrix.length][secondMatrix[0].length];
+        LinkedBlockingQueue<Tile> tiles = new LinkedBlockingQueue<>();
+        for (int row = 0; row < ret.length; row += tileSize) {
+            for (int column = 0; column < ret[0].length; column += tileSize) {
+                tiles.add(new Tile(row, Math.min(tileSize, ret.length - row),
+                        column, Math.min(tileSize, ret[0].length - column)));
+            }
+        }
+        AtomicInteger remaining = new AtomicInteger(tiles.size());
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers.size());
+        try {
+            List<Future<?>> connections = new ArrayList<>();
+            for (InetSocketAddress worker : workers) {
+                connections.add(executor.submit(new WorkerConnection(worker, firstMatrix, secondMatrix, ret,
+                        tiles, remaining, failure)));
+            }
+            for (Future<?> connection : connections) {
+                connection.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for workers", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Worker connection failed unexpectedly", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        if (remaining.get() > 0) {
+            throw new IllegalStateException("All workers failed, " + remaining.get() + " tiles were not calculated");
+        }
+        return ret;
+    }
+
+    /**
+     * A rectangular region of the result matrix.
+     */
+    private static final class Tile {
+        private final int firstRow;
+        private final int rows;
+        private final int firstColumn;
+        private final int columns;
+
+        Tile(int firstRow, int rows, int firstColumn, int columns) {
+            this.firstRow = firstRow;
+            this.rows = rows;
+            this.firstColumn = firstColumn;
+            this.columns = columns;
+        }
+    }
+
+    /**
+     * Sends tiles to a single worker until all tiles are done or the worker fails. Each tile covers a separate region
+     * of the result matrix, so the connections can write their results into it without locking.
+     */
+    private final class WorkerConnection implements Runnable {
+        private final InetSocketAddress address;
+        private final double[][] firstMatrix;
+        private final double[][] secondMatrix;
+        private final double[][] result;
+        private final LinkedBlockingQueue<Tile> tiles;
+        private final AtomicInteger remaining;
+        private final AtomicReference<RuntimeException> failure;
+
+        WorkerConnection(InetSocketAddress address, double[][] firstMatrix, double[][] secondMatrix,
+                         double[][] result, LinkedBlockingQueue<Tile> tiles, AtomicInteger remaining,
+                         AtomicReference<RuntimeException> failure) {
+            this.address = address;
+            this.firstMatrix = firstMatrix;
+            this.secondMatrix = secondMatrix;
+            this.result = result;
+            this.tiles = tiles;
+            this.remaining = remaining;
+            this.failure = failure;
+        }
+
+        @Override
+        public void run() {
+            try (Socket socket = new Socket()) {
+                socket.connect(address, CONNECT_TIMEOUT);
+                socket.setSoTimeout(readTimeout);
+                DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                // Tiles taken by a failing worker are put back, so keep polling until every tile is done
+                while (remaining.get() > 0 && failure.get() == null) {
+                    Tile tile = tiles.poll(50, TimeUnit.MILLISECONDS);
+                    if (tile == null) {
+                        continue;
+                    }
+                    try {
+                        calculateTile(tile, input, output);
+                    } catch (IOException e) {
+                        tiles.add(tile);
+                        return;
+                    }
+                    remaining.decrementAndGet();
+                }
+            } catch (IOException e) {
+                // The worker could not be reached, the other workers will calculate its share
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Sends the panels needed for the tile to the worker and copies the returned tile into the result matrix.
+         */
+        private void calculateTile(Tile tile, DataInputStream input, DataOutputStream output) throws IOException {
+            MatrixWorker.writeMatrix(output, firstMatrix, tile.firstRow, tile.rows, 0, firstMatrix[0].length);
+            MatrixWorker.writeMatrix(output, secondMatrix, 0, secondMatrix.length, tile.firstColumn, tile.columns);
+            output.flush();
+            if (input.readInt() != MatrixWorker.STATUS_OK) {
+                failure.compareAndSet(null, new IllegalStateException("Worker rejected tile: " + input.readUTF()));
+                return;
+            }
+            double[][] tileResult = MatrixWorker.readMatrix(input);
+            if (tileResult.length != tile.rows || tileResult[0].length != tile.columns) {
+                throw new IOException("Worker returned a tile of the wrong size");
+            }
+            for (int row = 0; row < tile.rows; row++) {
+                System.arraycopy(tileResult[row], 0, result[tile.firstRow + row], tile.firstColumn, tile.columns);
+            }
+        }
+    }
+}
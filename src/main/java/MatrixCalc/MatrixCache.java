@@ -0,0 +1,286 @@
+package MatrixCalc;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Opt-in caching layer in front of the inversion, determinant and multiplication methods of MatrixCalc. Results are
+ * keyed by a content hash and the shape of the operands. On a hash match the stored copies of the operands are
+ * compared value by value, so a hash collision can never return a wrong result. The cache is bounded both by entry
+ * count and by the approximate number of bytes held, and the least recently used entries are evicted first.
+ */
+public final class MatrixCache {
+    /**
+     * Approximate memory cost of a single double value.
+     */
+    private static final long BYTES_PER_VALUE = 8;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final boolean copyResults;
+    private final LinkedHashMap<Key, Object> entries;
+    private long currentBytes;
+    private long hits;
+    private long misses;
+
+    private enum Operation {
+        INVERT,
+        DETERMINANT,
+        MULTIPLY
+    }
+
+    /**
+     * Creates a cache that returns defensive copies of cached matrices.
+     *
+     * @param maxEntries Maximum number of cached results, must be at least 1
+     * @param maxBytes   Maximum approximate size of the cached operands and results in bytes, must be at least 1
+     */
+    public MatrixCache(int maxEntries, long maxBytes) {
+        this(maxEntries, maxBytes, true);
+    }
+
+    /**
+     * Creates a cache. If copyResults is false, the cached result arrays are returned directly. This avoids a copy
+     * per hit, but the caller must then treat the returned matrices as read-only, as any modification would corrupt
+     * the cached entry.
+     *
+     * @param maxEntries  Maximum number of cached results, must be at least 1
+     * @param maxBytes    Maximum approximate size of the cached operands and results in bytes, must be at least 1
+     * @param copyResults True if cached matrices are copied before being returned, false if they are shared
+     */
+    public MatrixCache(int maxEntries, long maxBytes, boolean copyResults) {
+        if (maxEntries < 1 || maxBytes < 1) {
+            throw new IllegalArgumentException("Cache limits must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.copyResults = copyResults;
+        // Access ordered map, so iteration starts from the least recently used entry
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns the inverse of the given matrix, calculating it with MatrixCalc.invert if it is not already cached.
+     *
+     * @param matrix The matrix to be inverted
+     * @return The inverse of the given matrix
+     */
+    public double[][] invert(double[][] matrix) {
+        Key key = new Key(Operation.INVERT, matrix);
+        Object cached = lookup(key);
+        if (cached != null) {
+            return returnMatrix((double[][]) cached);
+        }
+        double[][] result = MatrixCalc.invert(matrix);
+        store(key, result, sizeOf(result));
+        return returnMatrix(result);
+    }
+
+    /**
+     * Returns the determinant of the given matrix, calculating it with MatrixCalc.determinant if it is not already
+     * cached.
+     *
+     * @param matrix The matrix whose determinant is to be determined
+     * @return The determinant of the given matrix
+     */
+    public double determinant(double[][] matrix) {
+        Key key = new Key(Operation.DETERMINANT, matrix);
+        Object cached = lookup(key);
+        if (cached != null) {
+            return (Double) cached;
+        }
+        double result = MatrixCalc.determinant(matrix);
+        store(key, result, BYTES_PER_VALUE);
+        return result;
+    }
+
+    /**
+     * Returns the product of the given matrices, calculating it with MatrixCalc.multiply if it is not already cached.
+     *
+     * @param firstMatrix  First matrix used in the multiplication
+     * @param secondMatrix Second matrix used in the multiplication
+     * @return The result of the multiplication
+     */
+    public double[][] multiply(double[][] firstMatrix, double[][] secondMatrix) {
+        Key key = new Key(Operation.MULTIPLY, firstMatrix, secondMatrix);
+        Object cached = lookup(key);
+        if (cached != null) {
+            return returnMatrix((double[][]) cached);
+        }
+        double[][] result = MatrixCalc.multiply(firstMatrix, secondMatrix);
+        store(key, result, sizeOf(result));
+        return returnMatrix(result);
+    }
+
+    /**
+     * Removes all entries from the cache. Hit and miss counts are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        currentBytes = 0;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    public synchronized long getBytes() {
+        return currentBytes;
+    }
+
+    /**
+     * Returns the cached result for the key and updates the hit and miss counts.
+     *
+     * @param key Key of the operation
+     * @return Cached result, or null if not present
+     */
+    private synchronized Object lookup(Key key) {
+        Object cached = entries.get(key);
+        if (cached != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return cached;
+    }
+
+    /**
+     * Stores the result under a copy of the key, and evicts least recently used entries until the cache is within
+     * its limits. Results larger than the whole byte limit are not stored.
+     *
+     * @param key         Key of the operation, referring to the caller's operands
+     * @param result      Result of the operation
+     * @param resultBytes Approximate size of the result in bytes
+     */
+    private synchronized void store(Key key, Object result, long resultBytes) {
+        long entryBytes = key.sizeInBytes() + resultBytes;
+        if (entryBytes > maxBytes || entries.containsKey(key)) {
+            return;
+        }
+        // The result array is freshly calculated, so it can be stored as is. Callers only get copies of it unless
+        // results are shared.
+        entries.put(key.copy(), result);
+        currentBytes += entryBytes;
+        Iterator<Map.Entry<Key, Object>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || currentBytes > maxBytes) && iterator.hasNext()) {
+            Map.Entry<Key, Object> eldest = iterator.next();
+            currentBytes -= eldest.getKey().sizeInBytes() + sizeOf(eldest.getValue());
+            iterator.remove();
+        }
+    }
+
+    private double[][] returnMatrix(double[][] matrix) {
+        return copyResults ? copyMatrix(matrix) : matrix;
+    }
+
+    private static long sizeOf(Object result) {
+        if (result instanceof double[][]) {
+            long values = 0;
+            for (double[] row : (double[][]) result) {
+                values += row.length;
+            }
+            return values * BYTES_PER_VALUE;
+        }
+        return BYTES_PER_VALUE;
+    }
+
+    private static double[][] copyMatrix(double[][] matrix) {
+        double[][] ret = new double[matrix.length][];
+        for (int row = 0; row < matrix.length; row++) {
+            ret[row] = Arrays.copyOf(matrix[row], matrix[row].length);
+        }
+        return ret;
+    }
+
+    /**
+     * Cache key consisting of the operation and its operands. The hash code covers the shape and every value of the
+     * operands, and equality compares the operands value by value.
+     */
+    private static final class Key {
+        private final Operation operation;
+        private final double[][][] operands;
+        private final int hash;
+
+        Key(Operation operation, double[][]... operands) {
+            this.operation = operation;
+            this.operands = operands;
+            this.hash = computeHash(operation, operands);
+        }
+
+        private Key(Operation operation, double[][][] operands, int hash) {
+            this.operation = operation;
+            this.operands = operands;
+            this.hash = hash;
+        }
+
+        /**
+         * Returns a key with copies of the operands, so that later changes to the caller's arrays do not affect
+         * the cached entry.
+         */
+        Key copy() {
+            double[][][] copied = new double[operands.length][][];
+            for (int i = 0; i < operands.length; i++) {
+                copied[i] = copyMatrix(operands[i]);
+            }
+            return new Key(operation, copied, hash);
+        }
+
+        long sizeInBytes() {
+            long bytes = 0;
+            for (double[][] operand : operands) {
+                bytes += sizeOf(operand);
+            }
+            return bytes;
+        }
+
+        private static int computeHash(Operation operation, double[][][] operands) {
+            int result = operation.ordinal();
+            for (double[][] operand : operands) {
+                result = 31 * result + operand.length;
+                for (double[] row : operand) {
+                    result = 31 * result + row.length;
+                    for (double value : row) {
+                        long bits = Double.doubleToLongBits(value);
+                        result = 31 * result + (int) (bits ^ (bits >>> 32));
+                    }
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            if (hash != key.hash || operation != key.operation || operands.length != key.operands.length) {
+                return false;
+            }
+            for (int i = 0; i < operands.length; i++) {
+                if (!Arrays.deepEquals(operands[i], key.operands[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -1,5 +1,11 @@
 package MatrixCalc;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * Contains methods for calculating matrix products. The class currently supports addition, subtraction,
  * scaling, multiplication, and determinant calculations. The matrices are required to be square or rectangular
@@ -12,56 +18,106 @@ public final class MatrixCalc {
      */
     private static int strassenCutoff = 257;
 
+    /**
+     * The variant of the Strassen method used for matrices at or above the cutoff value.
+     */
+    private static StrassenVariant strassenVariant = StrassenVariant.CLASSIC;
+
+    /**
+     * Side length of the square blocks the result is divided into when multiplying a matrix with its own transpose.
+     * Each block is calculated as a separate parallel task.
+     */
+    private static final int SYMMETRIC_BLOCK_SIZE = 64;
+
+    /**
+     * Pool used by the parallel methods.
+     */
+    private static final ForkJoinPool pool = new ForkJoinPool();
+
+    /**
+     * Addition, subtraction and scaling of matrices with at least this many values are divided into row ranges and
+     * calculated in parallel. Smaller matrices are calculated on the calling thread to avoid the overhead of tasks.
+     * The value must be at least 1.
+     */
+    private static int parallelThreshold = 1 << 16;
+
+    /**
+     * Approximate number of values calculated by a single task of a parallel elementwise operation.
+     */
+    private static final int ELEMENTWISE_TASK_SIZE = 1 << 14;
+
+    private enum ElementwiseOperation {
+        ADD,
+        SUBTRACT,
+        SCALE
+    }
+
+    /**
+     * The available variants of the Strassen method. CLASSIC uses the original formulation with 18 block additions
+     * and subtractions per recursion level, WINOGRAD uses the Strassen-Winograd formulation which needs only 15.
+     */
+    public enum StrassenVariant {
+        CLASSIC,
+        WINOGRAD
+    }
+
     private MatrixCalc() {
         // Utility class, constructor not called
     }
 
     /**
-     * Checks that the two matrices have identical size and returns the result of the addition.
+     * Checks that the two matrices have identical size and returns the result of the addition. The size check is
+     * done row by row during the addition, so the matrices are only read once.
      *
      * @param firstMatrix  First matrix to be used in the calculation
      * @param secondMatrix Second matrix to be used in the calculation
      * @return Returns the result of the addition as a 2-dimensional double array
      */
     public static double[][] add(double[][] firstMatrix, double[][] secondMatrix) {
-        if (!isValidAddOrSub(firstMatrix, secondMatrix)) {
+        double[][] ret = null;
+        if (firstMatrix.length > 0 && firstMatrix.length == secondMatrix.length) {
+            ret = calculateElementwise(ElementwiseOperation.ADD, firstMatrix, secondMatrix, 0);
+        }
+        if (ret == null) {
             throw new IllegalArgumentException("Both matrices must be rectangular and of the same size");
         }
-        return addMatrices(firstMatrix, secondMatrix);
+        return ret;
     }
 
     /**
-     * Checks that the two matrices have identical size and returns the result of the subtraction.
+     * Checks that the two matrices have identical size and returns the result of the subtraction. The size check is
+     * done row by row during the subtraction, so the matrices are only read once.
      *
      * @param firstMatrix  First matrix to be used in the calculation
      * @param secondMatrix Second matrix to be used in the calculation
      * @return Returns the result of the addition as a 2-dimensional double array
      */
     public static double[][] subtract(double[][] firstMatrix, double[][] secondMatrix) {
-        if (!isValidAddOrSub(firstMatrix, secondMatrix)) {
+        double[][] ret = null;
+        if (firstMatrix.length > 0 && firstMatrix.length == secondMatrix.length) {
+            ret = calculateElementwise(ElementwiseOperation.SUBTRACT, firstMatrix, secondMatrix, 0);
+        }
+        if (ret == null) {
             throw new IllegalArgumentException("Both matrices must be rectangular and of the same size");
         }
-        return subtractMatrices(firstMatrix, secondMatrix);
+        return ret;
     }
 
     /**
-     * Checks that the matrix is rectangular and scales it by multiplying each value with the scalar.
+     * Checks that the matrix is rectangular and scales it by multiplying each value with the scalar. The check is
+     * done row by row during the scaling, so the matrix is only read once.
      *
      * @param matrix Matrix to be scaled
      * @param scalar The value by which to scale the matrix
      * @return Returns the result of the multiplication as a 2-dimensional double array
      */
     public static double[][] scale(double[][] matrix, double scalar) {
-        if (!isRectangular(matrix)) {
-            throw new IllegalArgumentException("Matrix must be rectangular");
+        double[][] ret = null;
+        if (matrix.length > 0) {
+            ret = calculateElementwise(ElementwiseOperation.SCALE, matrix, null, scalar);
         }
-        int rows = matrix.length;
-        int columns = matrix[0].length;
-        double[][] ret = new double[rows][columns];
-        for (int row = 0; row < rows; row++) {
-            for (int column = 0; column < columns; column++) {
-                ret[row][column] = matrix[row][column] * scalar;
-            }
+        if (ret == null) {
+            throw new IllegalArgumentException("Matrix must be rectangular");
         }
         return ret;
     }
@@ -70,7 +126,9 @@ public final class MatrixCalc {
      * Checks that the matrices are rectangular and that the row count of firstMatrix equals the column count of
      * secondMatrix. If the matrices are valid, the longest side of the two matrices is determined.
      * If the longest side is less than the strassenCutoff variable, the matrices are multiplied using
-     * the naive method. For larger matrices, the Strassen method is used.
+     * the naive method. For larger matrices, the Strassen method is used in the variant set by setStrassenVariant.
+     * If either matrix is banded with a narrow band, which includes diagonal matrices, and both matrices hold only
+     * finite values, only the values within the band are multiplied.
      *
      * @param firstMatrix  First matrix used in the multiplication
      * @param secondMatrix Second matrix used in the multiplication
@@ -81,11 +139,44 @@ public final class MatrixCalc {
             throw new IllegalArgumentException("Both matrices must be rectangular, and the row length of firstMatrix " +
                     "must equal the column length of secondMatrix");
         }
+        double[][] banded = multiplyBanded(firstMatrix, secondMatrix);
+        if (banded != null) {
+            return banded;
+        }
+        return multiplyWithCutoff(firstMatrix, secondMatrix, strassenCutoff);
+    }
+
+    /**
+     * Checks that the matrices are valid for multiplication and multiplies them without using more than the given
+     * amount of heap for the calculation. If the peak memory use estimated by MemoryEstimator with the current
+     * cutoff exceeds the budget, the cutoff is raised step by step, which reduces the depth of the Strassen recursion
+     * and the number of temporary matrices, until the naive method is reached. If not even the result of the naive
+     * method fits into the budget, an exception is thrown before anything is allocated.
+     *
+     * @param firstMatrix  First matrix used in the multiplication
+     * @param secondMatrix Second matrix used in the multiplication
+     * @param memoryBudget Maximum estimated peak memory use of the calculation in bytes
+     * @return Returns the result of the multiplication as a 2-dimensional double array
+     */
+    public static double[][] multiply(double[][] firstMatrix, double[][] secondMatrix, long memoryBudget) {
+        if (!isValidMultiplication(firstMatrix, secondMatrix)) {
+            throw new IllegalArgumentException("Both matrices must be rectangular, and the row length of firstMatrix " +
+                    "must equal the column length of secondMatrix");
+        }
+        int rows = firstMatrix.length;
+        int inner = secondMatrix.length;
+        int columns = secondMatrix[0].length;
         int longestSide = determineLongestSide(firstMatrix, secondMatrix);
-        if (longestSide < strassenCutoff) {
-            return multiplyNaive(firstMatrix, secondMatrix);
-        } else {
-            return strassenWrapper(firstMatrix, secondMatrix, longestSide);
+        // Once the cutoff is above the longest side, the naive method is used and raising it further changes nothing
+        for (int cutoff = strassenCutoff; ; cutoff = cutoff * 2) {
+            if (MemoryEstimator.multiplyBytes(rows, inner, columns, cutoff, strassenVariant) <= memoryBudget) {
+                return multiplyWithCutoff(firstMatrix, secondMatrix, cutoff);
+            }
+            if (cutoff > longestSide) {
+                throw new IllegalArgumentException("Multiplication needs at least " +
+                        MemoryEstimator.multiplyBytes(rows, inner, columns, cutoff, strassenVariant) +
+                        " bytes, which exceeds the budget of " + memoryBudget + " bytes");
+            }
         }
     }
 
@@ -103,6 +194,19 @@ public final class MatrixCalc {
             throw new IllegalArgumentException("Matrix must be square");
         }
         int matrixSize = matrix.length;
+        // The determinant of a triangular matrix, including a diagonal one, is the product of its diagonal. Like the
+        // banded multiplication, the shortcuts skip zeros, so they are only taken for finite values to keep an
+        // infinite value times zero NaN
+        if ((upperBandwidth(matrix, 0) == 0 || lowerBandwidth(matrix, 0) == 0) && isFinite(matrix)) {
+            double determinant = 1;
+            for (int i = 0; i < matrixSize; i++) {
+                determinant *= matrix[i][i];
+            }
+            return determinant;
+        }
+        if (upperBandwidth(matrix, 1) >= 0 && lowerBandwidth(matrix, 1) >= 0 && isFinite(matrix)) {
+            return tridiagonalDeterminant(matrix);
+        }
         double[][] matrixLU = new double[matrixSize][matrixSize];
         for (int row = 0; row < matrixSize; row++) {
             copyRow(matrix[row], 0, matrixLU[row], 0, matrixSize);
@@ -179,15 +283,356 @@ public final class MatrixCalc {
         if (!isSquare(matrix)) {
             throw new IllegalArgumentException("Matrix must be square");
         }
-        double[][] ret = new double[matrix.length][matrix.length];
-        if (matrix.length == 1) {
-            ret[0][0] = 1 / matrix[0][0];
+        // Substitution skips the zeros of the triangular matrix, so it is only used for finite values
+        if (upperBandwidth(matrix, 0) == 0 && isFinite(matrix)) {
+            return invertLowerTriangular(matrix);
+        }
+        if (lowerBandwidth(matrix, 0) == 0 && isFinite(matrix)) {
+            // The inverse of an upper triangular matrix is the transpose of the inverse of its transpose
+            return transposeMatrix(invertLowerTriangular(transposeMatrix(matrix)));
+        }
+        return invertWithCutoff(matrix, strassenCutoff);
+    }
+
+    /**
+     * Checks that the matrix is square and triangular and solves the system matrix * x = vector with forward or back
+     * substitution in O(n^2) time. Note that the method does not check whether or not the matrix is invertible, so
+     * the result may consist of NaN or infinite values.
+     *
+     * @param matrix Lower or upper triangular matrix
+     * @param vector Right hand side, as long as the sides of the matrix
+     * @return The solution x
+     */
+    public static double[] solveTriangular(double[][] matrix, double[] vector) {
+        if (!isSquare(matrix) || vector.length != matrix.length) {
+            throw new IllegalArgumentException("Matrix must be square, and the vector must be as long as its sides");
+        }
+        int matrixSize = matrix.length;
+        double[] ret = new double[matrixSize];
+        if (upperBandwidth(matrix, 0) == 0) {
+            for (int row = 0; row < matrixSize; row++) {
+                double sum = vector[row];
+                for (int column = 0; column < row; column++) {
+                    sum -= matrix[row][column] * ret[column];
+                }
+                ret[row] = sum / matrix[row][row];
+            }
+        } else if (lowerBandwidth(matrix, 0) == 0) {
+            for (int row = matrixSize - 1; row >= 0; row--) {
+                double sum = vector[row];
+                for (int column = row + 1; column < matrixSize; column++) {
+                    sum -= matrix[row][column] * ret[column];
+                }
+                ret[row] = sum / matrix[row][row];
+            }
         } else {
-            ret = strassenInvert(matrix);
+            throw new IllegalArgumentException("Matrix must be triangular");
         }
         return ret;
     }
 
+    /**
+     * Solves a tridiagonal system with the Thomas algorithm in O(n) time. The matrix is given as its three diagonals.
+     * The algorithm does not pivot, so it is only guaranteed to be stable for diagonally dominant or symmetric
+     * positive definite matrices.
+     *
+     * @param lower    The diagonal below the main diagonal, one value shorter than it
+     * @param diagonal The main diagonal
+     * @param upper    The diagonal above the main diagonal, one value shorter than it
+     * @param vector   Right hand side, as long as the main diagonal
+     * @return The solution x
+     */
+    public static double[] solveTridiagonal(double[] lower, double[] diagonal, double[] upper, double[] vector) {
+        int matrixSize = diagonal.length;
+        if (matrixSize == 0 || lower.length != matrixSize - 1 || upper.length != matrixSize - 1 ||
+                vector.length != matrixSize) {
+            throw new IllegalArgumentException("The diagonals and the vector must be as long as the matrix, except " +
+                    "for the lower and upper diagonal which are one value shorter");
+        }
+        // Forward sweep eliminates the lower diagonal, storing the modified upper diagonal and right hand side
+        double[] modifiedUpper = new double[matrixSize];
+        double[] ret = new double[matrixSize];
+        double pivot = diagonal[0];
+        ret[0] = vector[0] / pivot;
+        for (int i = 1; i < matrixSize; i++) {
+            modifiedUpper[i - 1] = upper[i - 1] / pivot;
+            pivot = diagonal[i] - lower[i - 1] * modifiedUpper[i - 1];
+            ret[i] = (vector[i] - lower[i - 1] * ret[i - 1]) / pivot;
+        }
+        // Back substitution
+        for (int i = matrixSize - 2; i >= 0; i--) {
+            ret[i] -= modifiedUpper[i] * ret[i + 1];
+        }
+        return ret;
+    }
+
+    /**
+     * Checks that the given matrix is square and calculates its inverse without using more than the given amount of
+     * heap for the calculation. If the peak memory use estimated by MemoryEstimator with the current cutoff exceeds
+     * the budget, the cutoff of the multiplications within the blockwise inversion is raised step by step until
+     * only naive multiplication is used. If the inversion does not fit into the budget even then, an exception is
+     * thrown before anything is allocated.
+     *
+     * @param matrix       The matrix to be inverted
+     * @param memoryBudget Maximum estimated peak memory use of the calculation in bytes
+     * @return The inverse of the given matrix
+     */
+    public static double[][] invert(double[][] matrix, long memoryBudget) {
+        if (!isSquare(matrix)) {
+            throw new IllegalArgumentException("Matrix must be square");
+        }
+        int matrixSize = matrix.length;
+        for (int cutoff = strassenCutoff; ; cutoff = cutoff * 2) {
+            if (MemoryEstimator.invertBytes(matrixSize, cutoff, strassenVariant) <= memoryBudget) {
+                return invertWithCutoff(matrix, cutoff);
+            }
+            if (cutoff > matrixSize) {
+                throw new IllegalArgumentException("Inversion needs at least " +
+                        MemoryEstimator.invertBytes(matrixSize, cutoff, strassenVariant) +
+                        " bytes, which exceeds the budget of " + memoryBudget + " bytes");
+            }
+        }
+    }
+
+
+    /**
+     * Checks that the matrix is rectangular and calculates the product of the matrix and its own transpose. As the
+     * result is symmetric, only its lower triangle is calculated, which takes half the operations of a full
+     * multiplication. The triangle is divided into blocks which are calculated in parallel.
+     *
+     * @param matrix The matrix A to be multiplied
+     * @return The result A * A^T in packed symmetric form
+     */
+    public static SymmetricMatrix multiplyByOwnTranspose(final double[][] matrix) {
+        if (!isRectangular(matrix)) {
+            throw new IllegalArgumentException("Matrix must be rectangular");
+        }
+        final int matrixSize = matrix.length;
+        final double[] values = new double[SymmetricMatrix.packedLength(matrixSize)];
+        final List<RecursiveAction> tasks = new ArrayList<>();
+        for (int rowBlock = 0; rowBlock < matrixSize; rowBlock += SYMMETRIC_BLOCK_SIZE) {
+            for (int columnBlock = 0; columnBlock <= rowBlock; columnBlock += SYMMETRIC_BLOCK_SIZE) {
+                final int firstRow = rowBlock;
+                final int firstColumn = columnBlock;
+                tasks.add(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        multiplyByOwnTransposeBlock(matrix, values, firstRow, firstColumn);
+                    }
+                });
+            }
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+        return new SymmetricMatrix(matrixSize, values);
+    }
+
+    /**
+     * Calculates the determinant of a symmetric matrix. Positive definite matrices, such as the products of full rank
+     * matrices with their own transposes, are handled with Cholesky factorization directly on the packed form. Other
+     * matrices are expanded and handled with the LU factorization of the general method.
+     *
+     * @param matrix The matrix whose determinant is to be determined
+     * @return The determinant of the given matrix
+     */
+    public static double determinant(SymmetricMatrix matrix) {
+        double[] factor = matrix.choleskyFactor();
+        if (factor == null) {
+            return determinant(matrix.toArray());
+        }
+        return matrix.choleskyDeterminant(factor);
+    }
+
+    /**
+     * Calculates the inverse of a symmetric matrix, which is symmetric as well. Positive definite matrices are
+     * inverted with Cholesky factorization directly on the packed form, other matrices are expanded and inverted with
+     * the general method. Note that the method does not check whether or not the given matrix is invertible, so the
+     * result matrix may consist of NaN values.
+     *
+     * @param matrix The matrix to be inverted
+     * @return The inverse of the given matrix in packed symmetric form
+     */
+    public static SymmetricMatrix invert(SymmetricMatrix matrix) {
+        double[] factor = matrix.choleskyFactor();
+        if (factor == null) {
+            return SymmetricMatrix.fromArray(invert(matrix.toArray()));
+        }
+        return matrix.choleskyInverse(factor);
+    }
+
+    /**
+     * Checks that the matrices use the same tile size and that the column count of firstMatrix equals the row count
+     * of secondMatrix, and multiplies them using the Strassen method directly on the Morton layout. Every quarter at
+     * every level of the recursion is a contiguous block, so no quarters are copied out.
+     *
+     * @param firstMatrix  First matrix used in the multiplication
+     * @param secondMatrix Second matrix used in the multiplication
+     * @return The result of the multiplication in the Morton layout
+     */
+    public static MortonMatrix multiply(MortonMatrix firstMatrix, MortonMatrix secondMatrix) {
+        if (firstMatrix.getTileSize() != secondMatrix.getTileSize() ||
+                firstMatrix.getColumns() != secondMatrix.getRows()) {
+            throw new IllegalArgumentException("Both matrices must use the same tile size, and the row length of " +
+                    "firstMatrix must equal the column length of secondMatrix");
+        }
+        return firstMatrix.multiply(secondMatrix);
+    }
+
+    /**
+     * Checks that the given matrix is square and calculates its inverse using blockwise inversion directly on the
+     * Morton layout. Note that the method does not check whether or not the give matrix is invertible, so the result
+     * matrix may consist of NaN values.
+     *
+     * @param matrix The matrix to be inverted
+     * @return The inverse of the given matrix in the Morton layout
+     */
+    public static MortonMatrix invert(MortonMatrix matrix) {
+        if (matrix.getRows() != matrix.getColumns()) {
+            throw new IllegalArgumentException("Matrix must be square");
+        }
+        return matrix.invert();
+    }
+
+    /**
+     * Calculates the inverse of the matrix A + u * v^T from the inverse of A using the Sherman-Morrison formula. This
+     * takes O(n^2) time instead of the O(n^3) of a full inversion. Note that the method does not check whether or not
+     * the updated matrix is invertible, so the result matrix may consist of NaN or infinite values.
+     *
+     * @param inverse The inverse of the original matrix
+     * @param u       Column vector of the rank-1 update
+     * @param v       Row vector of the rank-1 update
+     * @return The inverse of the updated matrix
+     */
+    public static double[][] updateInverse(double[][] inverse, double[] u, double[] v) {
+        if (!isSquare(inverse) || u.length != inverse.length || v.length != inverse.length) {
+            throw new IllegalArgumentException("Inverse must be square, and both update vectors must be as long as " +
+                    "its sides");
+        }
+        int matrixSize = inverse.length;
+        double[] inverseU = multiplyVector(inverse, u);
+        double[] vInverse = new double[matrixSize];
+        for (int row = 0; row < matrixSize; row++) {
+            if (v[row] != 0) {
+                for (int column = 0; column < matrixSize; column++) {
+                    vInverse[column] += v[row] * inverse[row][column];
+                }
+            }
+        }
+        double denominator = 1 + dotProduct(v, inverseU);
+        double[][] ret = new double[matrixSize][matrixSize];
+        for (int row = 0; row < matrixSize; row++) {
+            double scalar = inverseU[row] / denominator;
+            for (int column = 0; column < matrixSize; column++) {
+                ret[row][column] = inverse[row][column] - scalar * vInverse[column];
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Calculates the inverse of the matrix A + U * V^T from the inverse of A using the Woodbury formula, where U and
+     * V are n x k matrices. This takes O(n^2 * k) time, and only requires the inversion of a k x k matrix. Note that
+     * the method does not check whether or not the updated matrix is invertible, so the result matrix may consist of
+     * NaN or infinite values.
+     *
+     * @param inverse The inverse of the original matrix
+     * @param u       Left factor of the rank-k update, with as many rows as the inverse
+     * @param v       Right factor of the rank-k update, of the same size as u
+     * @return The inverse of the updated matrix
+     */
+    public static double[][] updateInverse(double[][] inverse, double[][] u, double[][] v) {
+        if (!isValidLowRankUpdate(inverse, u, v)) {
+            throw new IllegalArgumentException("Inverse must be square, and both update matrices must be rectangular, " +
+                    "of the same size and have as many rows as the inverse");
+        }
+        double[][] inverseU = multiplyRectangular(inverse, u);
+        double[][] vTransposeInverse = multiplyRectangular(transposeMatrix(v), inverse);
+        double[][] capacitance = capacitanceMatrix(v, inverseU);
+        // (A + UV^T)^-1 = A^-1 - A^-1 U (I + V^T A^-1 U)^-1 V^T A^-1, multiplied right to left to keep the
+        // intermediate results k values wide. The thin products use the rectangular kernel, as multiply would pad
+        // them to full n x n matrices
+        double[][] correction = multiplyRectangular(inverseU, multiplyRectangular(invert(capacitance),
+                vTransposeInverse));
+        return subtractMatrices(inverse, correction);
+    }
+
+    /**
+     * Calculates the inverse of the matrix after the given change has been added to one of its rows.
+     *
+     * @param inverse   The inverse of the original matrix
+     * @param row       Index of the changed row
+     * @param rowChange Values added to the row
+     * @return The inverse of the updated matrix
+     */
+    public static double[][] updateInverseRow(double[][] inverse, int row, double[] rowChange) {
+        return updateInverse(inverse, unitVector(inverse.length, row, 1), rowChange);
+    }
+
+    /**
+     * Calculates the inverse of the matrix after the given change has been added to one of its columns.
+     *
+     * @param inverse      The inverse of the original matrix
+     * @param column       Index of the changed column
+     * @param columnChange Values added to the column
+     * @return The inverse of the updated matrix
+     */
+    public static double[][] updateInverseColumn(double[][] inverse, int column, double[] columnChange) {
+        return updateInverse(inverse, columnChange, unitVector(inverse.length, column, 1));
+    }
+
+    /**
+     * Calculates the inverse of the matrix after the given change has been added to one of its values.
+     *
+     * @param inverse The inverse of the original matrix
+     * @param row     Row of the changed value
+     * @param column  Column of the changed value
+     * @param change  Value added to the original value
+     * @return The inverse of the updated matrix
+     */
+    public static double[][] updateInverseEntry(double[][] inverse, int row, int column, double change) {
+        return updateInverse(inverse, unitVector(inverse.length, row, change), unitVector(inverse.length, column, 1));
+    }
+
+    /**
+     * Calculates the determinant of the matrix A + u * v^T from the determinant and inverse of A using the matrix
+     * determinant lemma. This takes O(n^2) time.
+     *
+     * @param determinant The determinant of the original matrix
+     * @param inverse     The inverse of the original matrix
+     * @param u           Column vector of the rank-1 update
+     * @param v           Row vector of the rank-1 update
+     * @return The determinant of the updated matrix
+     */
+    public static double updateDeterminant(double determinant, double[][] inverse, double[] u, double[] v) {
+        if (!isSquare(inverse) || u.length != inverse.length || v.length != inverse.length) {
+            throw new IllegalArgumentException("Inverse must be square, and both update vectors must be as long as " +
+                    "its sides");
+        }
+        return determinant * (1 + dotProduct(v, multiplyVector(inverse, u)));
+    }
+
+    /**
+     * Calculates the determinant of the matrix A + U * V^T from the determinant and inverse of A using the
+     * generalized matrix determinant lemma, where U and V are n x k matrices. This takes O(n^2 * k) time.
+     *
+     * @param determinant The determinant of the original matrix
+     * @param inverse     The inverse of the original matrix
+     * @param u           Left factor of the rank-k update, with as many rows as the inverse
+     * @param v           Right factor of the rank-k update, of the same size as u
+     * @return The determinant of the updated matrix
+     */
+    public static double updateDeterminant(double determinant, double[][] inverse, double[][] u, double[][] v) {
+        if (!isValidLowRankUpdate(inverse, u, v)) {
+            throw new IllegalArgumentException("Inverse must be square, and both update matrices must be rectangular, " +
+                    "of the same size and have as many rows as the inverse");
+        }
+        return determinant * determinant(capacitanceMatrix(v, multiplyRectangular(inverse, u)));
+    }
+
 
     /**
      * Adds the values of the two matrices together.
@@ -197,13 +642,7 @@ public final class MatrixCalc {
      * @return Result of addition
      */
     private static double[][] addMatrices(double[][] firstMatrix, double[][] secondMatrix) {
-        double[][] ret = new double[firstMatrix.length][firstMatrix[0].length];
-        for (int row = 0; row < firstMatrix.length; row++) {
-            for (int column = 0; column < firstMatrix[0].length; column++) {
-                ret[row][column] = firstMatrix[row][column] + secondMatrix[row][column];
-            }
-        }
-        return ret;
+        return calculateElementwise(ElementwiseOperation.ADD, firstMatrix, secondMatrix, 0);
     }
 
     /**
@@ -214,13 +653,32 @@ public final class MatrixCalc {
      * @return Result of subtraction
      */
     private static double[][] subtractMatrices(double[][] firstMatrix, double[][] secondMatrix) {
-        double[][] ret = new double[firstMatrix.length][firstMatrix[0].length];
-        for (int row = 0; row < firstMatrix.length; row++) {
-            for (int column = 0; column < firstMatrix[0].length; column++) {
-                ret[row][column] = firstMatrix[row][column] - secondMatrix[row][column];
-            }
+        return calculateElementwise(ElementwiseOperation.SUBTRACT, firstMatrix, secondMatrix, 0);
+    }
+
+    /**
+     * Applies the elementwise operation to every value of the matrices. Matrices with at least parallelThreshold
+     * values are divided into row ranges which are calculated in parallel, smaller matrices are calculated on the
+     * calling thread. Both matrices must have at least one row and the same number of rows. The length of every row
+     * is checked against the first row of the first matrix as the row is calculated.
+     *
+     * @param operation    The operation to apply
+     * @param firstMatrix  First matrix used in the calculation
+     * @param secondMatrix Second matrix used in the calculation, or null for scaling
+     * @param scalar       The value by which to scale, ignored by other operations
+     * @return Result of the operation, or null if the rows were not all of equal length
+     */
+    private static double[][] calculateElementwise(ElementwiseOperation operation, double[][] firstMatrix,
+                                                   double[][] secondMatrix, double scalar) {
+        double[][] ret = new double[firstMatrix.length][];
+        ElementwiseTask task = new ElementwiseTask(operation, firstMatrix, secondMatrix, scalar, ret,
+                0, firstMatrix.length, new AtomicBoolean());
+        if ((long) firstMatrix.length * firstMatrix[0].length >= parallelThreshold) {
+            pool.invoke(task);
+        } else {
+            task.calculateRows();
         }
-        return ret;
+        return task.invalid.get() ? null : ret;
     }
 
     /**
@@ -248,15 +706,74 @@ public final class MatrixCalc {
         return ret;
     }
 
+    /**
+     * Multiplies valid matrices of any shape without padding them, in O(rows * inner * columns) time. The loops run
+     * in row, inner, column order, so the second matrix and the result are read and written row by row. Used for
+     * thin products, which the Strassen method would pad to square matrices of the longest side.
+     *
+     * @param firstMatrix  First matrix used in the multiplication
+     * @param secondMatrix Second matrix used in the multiplication, with as many rows as firstMatrix has columns
+     * @return The result of the multiplication
+     */
+    static double[][] multiplyRectangular(double[][] firstMatrix, double[][] secondMatrix) {
+        int columns = secondMatrix[0].length;
+        double[][] ret = new double[firstMatrix.length][columns];
+        for (int row = 0; row < firstMatrix.length; row++) {
+            double[] resultRow = ret[row];
+            for (int inner = 0; inner < secondMatrix.length; inner++) {
+                double value = firstMatrix[row][inner];
+                double[] secondRow = secondMatrix[inner];
+                for (int column = 0; column < columns; column++) {
+                    resultRow[column] += value * secondRow[column];
+                }
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Multiplies valid matrices using the naive method if the longest side is less than the cutoff, and the Strassen
+     * method otherwise.
+     *
+     * @param firstMatrix  First matrix used in the multiplication
+     * @param secondMatrix Second matrix used in the multiplication
+     * @param cutoff       Size below which the naive method is used
+     * @return The result of the multiplication
+     */
+    private static double[][] multiplyWithCutoff(double[][] firstMatrix, double[][] secondMatrix, int cutoff) {
+        int longestSide = determineLongestSide(firstMatrix, secondMatrix);
+        if (longestSide < cutoff) {
+            return multiplyNaive(firstMatrix, secondMatrix);
+        } else {
+            return strassenWrapper(firstMatrix, secondMatrix, longestSide, cutoff);
+        }
+    }
+
+    /**
+     * Inverts a square matrix, using the given cutoff for the multiplications of the blockwise inversion.
+     *
+     * @param matrix Matrix to be inverted
+     * @param cutoff Size below which the naive method of multiplication is used
+     * @return Result of inversion
+     */
+    private static double[][] invertWithCutoff(double[][] matrix, int cutoff) {
+        if (matrix.length == 1) {
+            return new double[][]{{1 / matrix[0][0]}};
+        }
+        return strassenInvert(matrix, cutoff);
+    }
+
     /**
      * Prepares the given matrices for the Strassen method of multiplication and trims the result back to original length
      *
      * @param firstMatrix  First matrix used in the multiplication
      * @param secondMatrix Second matrix used in the multiplication
      * @param longestSide  The longer side of the matrices
+     * @param cutoff       Size below which the naive method is used within the recursion
      * @return Result of multiplication as new array
      */
-    private static double[][] strassenWrapper(double[][] firstMatrix, double[][] secondMatrix, int longestSide) {
+    private static double[][] strassenWrapper(double[][] firstMatrix, double[][] secondMatrix, int longestSide,
+                                              int cutoff) {
         // Record the row and column count of the result matrix
         int originalRows = firstMatrix.length;
         int originalColumns = secondMatrix[0].length;
@@ -269,8 +786,13 @@ public final class MatrixCalc {
         if (secondMatrix.length != calcSize || secondMatrix[0].length != calcSize) {
             secondMatrix = increaseMatrixSize(secondMatrix, calcSize);
         }
-        // Recursively calculate the result of the multiplication using the Strassen method
-        double[][] strassenResult = multiplyStrassen(firstMatrix, secondMatrix);
+        // Recursively calculate the result of the multiplication using the selected variant of the Strassen method
+        double[][] strassenResult;
+        if (strassenVariant == StrassenVariant.WINOGRAD) {
+            strassenResult = multiplyStrassenWinograd(firstMatrix, secondMatrix, cutoff);
+        } else {
+            strassenResult = multiplyStrassen(firstMatrix, secondMatrix, cutoff);
+        }
         // If necessary, trim resulting matrix to original size and return
         if (calcSize == originalRows && calcSize == originalColumns) {
             return strassenResult;
@@ -288,9 +810,10 @@ public final class MatrixCalc {
      *
      * @param firstMatrix  First matrix to be multiplied
      * @param secondMatrix Second matrix to be multiplied
+     * @param cutoff       Size below which the helper matrices are calculated using the naive method
      * @return The result of the multiplication as a new array, not trimmed to original size
      */
-    private static double[][] multiplyStrassen(double[][] firstMatrix, double[][] secondMatrix) {
+    private static double[][] multiplyStrassen(double[][] firstMatrix, double[][] secondMatrix, int cutoff) {
         int matrixSize = firstMatrix.length;
         int halfpoint = matrixSize / 2;
 
@@ -325,9 +848,9 @@ public final class MatrixCalc {
         double[][] m6;
         double[][] m7;
 
-        // if current matrix is less than strassenCutoff, calculate the helper matrices using naive multiplication,
+        // if current matrix is less than the cutoff, calculate the helper matrices using naive multiplication,
         // else call the Strassen method recursively
-        if (matrixSize < strassenCutoff) {
+        if (matrixSize < cutoff) {
             m1 = multiplyNaive(addMatrices(a11, a22), addMatrices(b11, b22));
             m2 = multiplyNaive(addMatrices(a21, a22), b11);
             m3 = multiplyNaive(a11, subtractMatrices(b12, b22));
@@ -336,13 +859,13 @@ public final class MatrixCalc {
             m6 = multiplyNaive(subtractMatrices(a21, a11), addMatrices(b11, b12));
             m7 = multiplyNaive(subtractMatrices(a12, a22), addMatrices(b21, b22));
         } else {
-            m1 = multiplyStrassen(addMatrices(a11, a22), addMatrices(b11, b22));
-            m2 = multiplyStrassen(addMatrices(a21, a22), b11);
-            m3 = multiplyStrassen(a11, subtractMatrices(b12, b22));
-            m4 = multiplyStrassen(a22, subtractMatrices(b21, b11));
-            m5 = multiplyStrassen(addMatrices(a11, a12), b22);
-            m6 = multiplyStrassen(subtractMatrices(a21, a11), addMatrices(b11, b12));
-            m7 = multiplyStrassen(subtractMatrices(a12, a22), addMatrices(b21, b22));
+            m1 = multiplyStrassen(addMatrices(a11, a22), addMatrices(b11, b22), cutoff);
+            m2 = multiplyStrassen(addMatrices(a21, a22), b11, cutoff);
+            m3 = multiplyStrassen(a11, subtractMatrices(b12, b22), cutoff);
+            m4 = multiplyStrassen(a22, subtractMatrices(b21, b11), cutoff);
+            m5 = multiplyStrassen(addMatrices(a11, a12), b22, cutoff);
+            m6 = multiplyStrassen(subtractMatrices(a21, a11), addMatrices(b11, b12), cutoff);
+            m7 = multiplyStrassen(subtractMatrices(a12, a22), addMatrices(b21, b22), cutoff);
         }
 
         // Calculate the 4 quarters of the result matrix using the helper matrices
@@ -362,6 +885,100 @@ public final class MatrixCalc {
         return ret;
     }
 
+    /**
+     * The main recursive method used to multiply the two matrices using the Strassen-Winograd variant. The variant
+     * uses 7 multiplications like the classic method, but only 15 block additions and subtractions per level instead
+     * of 18, as the intermediate sums are reused.
+     *
+     * @param firstMatrix  First matrix to be multiplied
+     * @param secondMatrix Second matrix to be multiplied
+     * @param cutoff       Size below which the helper matrices are calculated using the naive method
+     * @return The result of the multiplication as a new array, not trimmed to original size
+     */
+    private static double[][] multiplyStrassenWinograd(double[][] firstMatrix, double[][] secondMatrix, int cutoff) {
+        int matrixSize = firstMatrix.length;
+        int halfpoint = matrixSize / 2;
+
+        // Initialize 8 submatrices used in calculation
+        double[][] a11 = new double[halfpoint][halfpoint];
+        double[][] a12 = new double[halfpoint][halfpoint];
+        double[][] a21 = new double[halfpoint][halfpoint];
+        double[][] a22 = new double[halfpoint][halfpoint];
+        double[][] b11 = new double[halfpoint][halfpoint];
+        double[][] b12 = new double[halfpoint][halfpoint];
+        double[][] b21 = new double[halfpoint][halfpoint];
+        double[][] b22 = new double[halfpoint][halfpoint];
+
+        // Divide the matrices being multiplied into the 8 submatrices
+        for (int row = 0; row < halfpoint; row++) {
+            copyRow(firstMatrix[row], 0, a11[row], 0, halfpoint);
+            copyRow(firstMatrix[row], halfpoint, a12[row], 0, halfpoint);
+            copyRow(firstMatrix[row + halfpoint], 0, a21[row], 0, halfpoint);
+            copyRow(firstMatrix[row + halfpoint], halfpoint, a22[row], 0, halfpoint);
+            copyRow(secondMatrix[row], 0, b11[row], 0, halfpoint);
+            copyRow(secondMatrix[row], halfpoint, b12[row], 0, halfpoint);
+            copyRow(secondMatrix[row + halfpoint], 0, b21[row], 0, halfpoint);
+            copyRow(secondMatrix[row + halfpoint], halfpoint, b22[row], 0, halfpoint);
+        }
+
+        // Calculate the 8 sums used as multiplication operands, each building on the previous ones
+        double[][] s1 = addMatrices(a21, a22);
+        double[][] s2 = subtractMatrices(s1, a11);
+        double[][] s3 = subtractMatrices(a11, a21);
+        double[][] s4 = subtractMatrices(a12, s2);
+        double[][] t1 = subtractMatrices(b12, b11);
+        double[][] t2 = subtractMatrices(b22, t1);
+        double[][] t3 = subtractMatrices(b22, b12);
+        double[][] t4 = subtractMatrices(t2, b21);
+
+        // Initialize 7 helper matrices
+        double[][] m1;
+        double[][] m2;
+        double[][] m3;
+        double[][] m4;
+        double[][] m5;
+        double[][] m6;
+        double[][] m7;
+
+        // if current matrix is less than the cutoff, calculate the helper matrices using naive multiplication,
+        // else call the Strassen-Winograd method recursively
+        if (matrixSize < cutoff) {
+            m1 = multiplyNaive(a11, b11);
+            m2 = multiplyNaive(a12, b21);
+            m3 = multiplyNaive(s4, b22);
+            m4 = multiplyNaive(a22, t4);
+            m5 = multiplyNaive(s1, t1);
+            m6 = multiplyNaive(s2, t2);
+            m7 = multiplyNaive(s3, t3);
+        } else {
+            m1 = multiplyStrassenWinograd(a11, b11, cutoff);
+            m2 = multiplyStrassenWinograd(a12, b21, cutoff);
+            m3 = multiplyStrassenWinograd(s4, b22, cutoff);
+            m4 = multiplyStrassenWinograd(a22, t4, cutoff);
+            m5 = multiplyStrassenWinograd(s1, t1, cutoff);
+            m6 = multiplyStrassenWinograd(s2, t2, cutoff);
+            m7 = multiplyStrassenWinograd(s3, t3, cutoff);
+        }
+
+        // Calculate the 4 quarters of the result matrix, reusing the shared partial sums u2 and u3
+        double[][] u2 = addMatrices(m1, m6);
+        double[][] u3 = addMatrices(u2, m7);
+        double[][] c11 = addMatrices(m1, m2);
+        double[][] c12 = addMatrices(addMatrices(u2, m5), m3);
+        double[][] c21 = subtractMatrices(u3, m4);
+        double[][] c22 = addMatrices(u3, m5);
+
+        // Combine the resulting quarters into one matrix, and return
+        double[][] ret = new double[matrixSize][matrixSize];
+        for (int row = 0; row < halfpoint; row++) {
+            copyRow(c11[row], 0, ret[row], 0, halfpoint);
+            copyRow(c12[row], 0, ret[row], halfpoint, halfpoint);
+            copyRow(c21[row], 0, ret[row + halfpoint], 0, halfpoint);
+            copyRow(c22[row], 0, ret[row + halfpoint], halfpoint, halfpoint);
+        }
+        return ret;
+    }
+
     /**
      * Inverts the given matrix using blockwise invertion and the Strassen method for matrix multiplication. Switches to
      * the naive inversion method for matrices smaller than the 2x2 values.
@@ -374,9 +991,10 @@ public final class MatrixCalc {
      * the naive inversion method for matrices smaller than the 2x2 values.
      *
      * @param matrix Matrix to be inverted
+     * @param cutoff Size below which the naive method of multiplication is used
      * @return Result of inversion
      */
-    private static double[][] strassenInvert(double[][] matrix) {
+    private static double[][] strassenInvert(double[][] matrix, int cutoff) {
         int matrixSize = matrix.length;
 
         // If current matrix size is 2, calculate the inverse of the matrix using blockwise inversion naively, else call
@@ -404,13 +1022,15 @@ public final class MatrixCalc {
             copyRow(matrix[row], matrixSize - halfpoint, a22[row - (matrixSize - halfpoint)], 0, halfpoint);
         }
 
-        a22 = strassenInvert(a22);
+        a22 = strassenInvert(a22, cutoff);
 
         // Calculate the 4 quarters of the result matrix using blockwise invertion
-        double[][] c11 = invert(subtract(a11, multiply(multiply(a12, a22), a21)));
-        double[][] c22 = add(a22, multiply(multiply(multiply(multiply(a22, a21), c11), a12), a22));
-        double[][] c12 = multiply(multiply(scale(c11, -1), a12), a22);
-        double[][] c21 = multiply(multiply(scale(a22, -1), a21), c11);
+        double[][] c11 = invertWithCutoff(subtract(a11, multiplyWithCutoff(multiplyWithCutoff(a12, a22, cutoff), a21,
+                cutoff)), cutoff);
+        double[][] c22 = add(a22, multiplyWithCutoff(multiplyWithCutoff(multiplyWithCutoff(multiplyWithCutoff(a22,
+                a21, cutoff), c11, cutoff), a12, cutoff), a22, cutoff));
+        double[][] c12 = multiplyWithCutoff(multiplyWithCutoff(scale(c11, -1), a12, cutoff), a22, cutoff);
+        double[][] c21 = multiplyWithCutoff(multiplyWithCutoff(scale(a22, -1), a21, cutoff), c11, cutoff);
 
         // Combine the resulting quarters into one matrix, and return
         double[][] ret = new double[matrixSize][matrixSize];
@@ -426,24 +1046,301 @@ public final class MatrixCalc {
     }
 
     /**
-     * Naive matrix inversion method for 2x2 and smaller matrices
+     * Naive matrix inversion method for 2x2 and smaller matrices. The given matrix is left unchanged.
      *
      * @param matrix Matrix to be inverted
      * @return Result of inversion
      */
     private static double[][] naiveInvert(double[][] matrix) {
         if (matrix.length == 1) {
-            matrix[0][0] = 1 / matrix[0][0];
-            return matrix;
+            return new double[][]{{1 / matrix[0][0]}};
         } else {
             double scalar = 1 / (matrix[0][0] * matrix[1][1] - matrix[0][1] * matrix[1][0]);
-            matrix[0][1] *= -1;
-            matrix[1][0] *= -1;
-            double temp = matrix[0][0];
-            matrix[0][0] = matrix[1][1];
-            matrix[1][1] = temp;
-            return scale(matrix, scalar);
+            return new double[][]{{matrix[1][1] * scalar, -matrix[0][1] * scalar},
+                    {-matrix[1][0] * scalar, matrix[0][0] * scalar}};
+        }
+    }
+
+    /**
+     * Calculates one block of the lower triangle of A * A^T. Each value is the dot product of two rows of A, so both
+     * operands are read sequentially.
+     *
+     * @param matrix      The matrix A
+     * @param values      Packed lower triangle of the result
+     * @param firstRow    First row of the block
+     * @param firstColumn First column of the block
+     */
+    private static void multiplyByOwnTransposeBlock(double[][] matrix, double[] values, int firstRow,
+                                                    int firstColumn) {
+        int lastRow = Math.min(firstRow + SYMMETRIC_BLOCK_SIZE, matrix.length);
+        int lastColumn = Math.min(firstColumn + SYMMETRIC_BLOCK_SIZE, matrix.length);
+        for (int row = firstRow; row < lastRow; row++) {
+            int offset = SymmetricMatrix.index(row, 0);
+            // Blocks on the diagonal only cover the values up to the diagonal
+            int end = Math.min(lastColumn, row + 1);
+            for (int column = firstColumn; column < end; column++) {
+                values[offset + column] = dotProduct(matrix[row], matrix[column]);
+            }
+        }
+    }
+
+    /**
+     * Multiplies the matrices using only the values within the band if either matrix is banded with a band narrower
+     * than a quarter of the inner dimension. The band is detected first for the first matrix and then for the second.
+     * Skipping the zeros outside the band would turn an infinite or NaN value times zero into zero instead of NaN, so
+     * the band is only used if both matrices hold only finite values.
+     *
+     * @param firstMatrix  First matrix used in the multiplication
+     * @param secondMatrix Second matrix used in the multiplication
+     * @return The result of the multiplication, or null if neither matrix has a narrow enough band
+     */
+    private static double[][] multiplyBanded(double[][] firstMatrix, double[][] secondMatrix) {
+        int rows = firstMatrix.length;
+        int inner = secondMatrix.length;
+        int columns = secondMatrix[0].length;
+        int bandLimit = inner / 4;
+        int lower = lowerBandwidth(firstMatrix, bandLimit);
+        int upper = lower >= 0 ? upperBandwidth(firstMatrix, bandLimit - lower) : -1;
+        if (upper >= 0) {
+            if (!isFinite(firstMatrix) || !isFinite(secondMatrix)) {
+                return null;
+            }
+            double[][] ret = new double[rows][columns];
+            // Row i of the first matrix only has values in columns i - lower to i + upper
+            for (int row = 0; row < rows; row++) {
+                int last = Math.min(inner - 1, row + upper);
+                for (int k = Math.max(0, row - lower); k <= last; k++) {
+                    double value = firstMatrix[row][k];
+                    for (int column = 0; column < columns; column++) {
+                        ret[row][column] += value * secondMatrix[k][column];
+                    }
+                }
+            }
+            return ret;
+        }
+        lower = lowerBandwidth(secondMatrix, bandLimit);
+        upper = lower >= 0 ? upperBandwidth(secondMatrix, bandLimit - lower) : -1;
+        if (upper >= 0) {
+            if (!isFinite(firstMatrix) || !isFinite(secondMatrix)) {
+                return null;
+            }
+            double[][] ret = new double[rows][columns];
+            // Row k of the second matrix only has values in columns k - lower to k + upper
+            for (int row = 0; row < rows; row++) {
+                for (int k = 0; k < inner; k++) {
+                    double value = firstMatrix[row][k];
+                    int last = Math.min(columns - 1, k + upper);
+                    for (int column = Math.max(0, k - lower); column <= last; column++) {
+                        ret[row][column] += value * secondMatrix[k][column];
+                    }
+                }
+            }
+            return ret;
+        }
+        return null;
+    }
+
+    private static boolean isFinite(double[][] matrix) {
+        for (double[] row : matrix) {
+            for (double value : row) {
+                if (Double.isNaN(value) || Double.isInfinite(value)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines the lower bandwidth of the matrix, the largest distance below the diagonal at which a non-zero value
+     * is found. The search stops as soon as the limit is exceeded, so dense matrices are rejected after a few rows.
+     *
+     * @param matrix Matrix to be checked
+     * @param limit  Largest bandwidth of interest
+     * @return The lower bandwidth, or -1 if it exceeds the limit
+     */
+    private static int lowerBandwidth(double[][] matrix, int limit) {
+        if (limit < 0) {
+            return -1;
+        }
+        int bandwidth = 0;
+        for (int row = 1; row < matrix.length; row++) {
+            // Only values further from the diagonal than the current bandwidth can increase it
+            int end = Math.min(row - bandwidth, matrix[row].length);
+            for (int column = 0; column < end; column++) {
+                if (matrix[row][column] != 0) {
+                    bandwidth = row - column;
+                    if (bandwidth > limit) {
+                        return -1;
+                    }
+                    break;
+                }
+            }
+        }
+        return bandwidth;
+    }
+
+    /**
+     * Determines the upper bandwidth of the matrix, the largest distance above the diagonal at which a non-zero value
+     * is found. The search stops as soon as the limit is exceeded.
+     *
+     * @param matrix Matrix to be checked
+     * @param limit  Largest bandwidth of interest
+     * @return The upper bandwidth, or -1 if it exceeds the limit
+     */
+    private static int upperBandwidth(double[][] matrix, int limit) {
+        if (limit < 0) {
+            return -1;
+        }
+        int bandwidth = 0;
+        for (int row = 0; row < matrix.length; row++) {
+            int end = row + bandwidth;
+            for (int column = matrix[row].length - 1; column > end; column--) {
+                if (matrix[row][column] != 0) {
+                    bandwidth = column - row;
+                    if (bandwidth > limit) {
+                        return -1;
+                    }
+                    break;
+                }
+            }
+        }
+        return bandwidth;
+    }
+
+    /**
+     * Calculates the determinant of a tridiagonal matrix in O(n) time with the three-term recurrence
+     * f(i) = a(i) * f(i - 1) - b(i - 1) * c(i - 1) * f(i - 2).
+     *
+     * @param matrix Square tridiagonal matrix
+     * @return The determinant of the given matrix
+     */
+    private static double tridiagonalDeterminant(double[][] matrix) {
+        double previous = 1;
+        double current = matrix[0][0];
+        for (int i = 1; i < matrix.length; i++) {
+            double next = matrix[i][i] * current - matrix[i][i - 1] * matrix[i - 1][i] * previous;
+            previous = current;
+            current = next;
+        }
+        return current;
+    }
+
+    /**
+     * Inverts a lower triangular matrix with forward substitution, one column at a time. The inverse is lower
+     * triangular as well, so only the values on and below the diagonal are calculated.
+     *
+     * @param matrix Square lower triangular matrix
+     * @return Result of inversion
+     */
+    private static double[][] invertLowerTriangular(double[][] matrix) {
+        int matrixSize = matrix.length;
+        double[][] ret = new double[matrixSize][matrixSize];
+        for (int column = 0; column < matrixSize; column++) {
+            ret[column][column] = 1 / matrix[column][column];
+            for (int row = column + 1; row < matrixSize; row++) {
+                double sum = 0;
+                for (int k = column; k < row; k++) {
+                    sum -= matrix[row][k] * ret[k][column];
+                }
+                ret[row][column] = sum / matrix[row][row];
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Calculates the k x k matrix I + V^T * A^-1 * U used by the Woodbury formula and the determinant lemma.
+     *
+     * @param v        Right factor of the update
+     * @param inverseU The product of the inverse and the left factor of the update
+     * @return The capacitance matrix
+     */
+    private static double[][] capacitanceMatrix(double[][] v, double[][] inverseU) {
+        double[][] ret = multiplyRectangular(transposeMatrix(v), inverseU);
+        for (int i = 0; i < ret.length; i++) {
+            ret[i][i] += 1;
+        }
+        return ret;
+    }
+
+    /**
+     * Multiplies the matrix with the given column vector.
+     *
+     * @param matrix Matrix to be multiplied
+     * @param vector Column vector with as many values as the matrix has columns
+     * @return The resulting column vector
+     */
+    private static double[] multiplyVector(double[][] matrix, double[] vector) {
+        double[] ret = new double[matrix.length];
+        for (int row = 0; row < matrix.length; row++) {
+            ret[row] = dotProduct(matrix[row], vector);
+        }
+        return ret;
+    }
+
+    /**
+     * Calculates the dot product of two vectors of equal length.
+     *
+     * @param first  First vector
+     * @param second Second vector
+     * @return The dot product
+     */
+    private static double dotProduct(double[] first, double[] second) {
+        double result = 0;
+        for (int i = 0; i < first.length; i++) {
+            result += first[i] * second[i];
+        }
+        return result;
+    }
+
+    /**
+     * Creates a vector where every value except the one at the given index is zero.
+     *
+     * @param length Length of the vector
+     * @param index  Index of the non-zero value
+     * @param value  The non-zero value
+     * @return The created vector
+     */
+    private static double[] unitVector(int length, int index, double value) {
+        if (index < 0 || index >= length) {
+            throw new IllegalArgumentException("Index must be within the matrix");
         }
+        double[] ret = new double[length];
+        ret[index] = value;
+        return ret;
+    }
+
+    /**
+     * Creates the transpose of the given matrix.
+     *
+     * @param matrix Matrix to be transposed
+     * @return The transpose as a new array
+     */
+    private static double[][] transposeMatrix(double[][] matrix) {
+        double[][] ret = new double[matrix[0].length][matrix.length];
+        for (int row = 0; row < matrix.length; row++) {
+            for (int column = 0; column < matrix[0].length; column++) {
+                ret[column][row] = matrix[row][column];
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Checks that the inverse is square and that the update factors are rectangular, of identical size and have as
+     * many rows as the inverse.
+     *
+     * @param inverse Inverse to be updated
+     * @param u       Left factor of the update
+     * @param v       Right factor of the update
+     * @return True if valid, else false
+     */
+    private static boolean isValidLowRankUpdate(double[][] inverse, double[][] u, double[][] v) {
+        if (!isSquare(inverse) || !isValidAddOrSub(u, v)) {
+            return false;
+        }
+        return u.length == inverse.length;
     }
 
     /**
@@ -471,7 +1368,7 @@ public final class MatrixCalc {
      * @param second Second matrix to be checked
      * @return True if valid, else false
      */
-    private static boolean isValidMultiplication(double[][] first, double[][] second) {
+    static boolean isValidMultiplication(double[][] first, double[][] second) {
         if (!isRectangular(first) || !isRectangular(second)) {
             return false;
         }
@@ -484,7 +1381,7 @@ public final class MatrixCalc {
      * @param matrix Matrix to be checked
      * @return True if square, else false
      */
-    private static boolean isSquare(double[][] matrix) {
+    static boolean isSquare(double[][] matrix) {
         if (!isRectangular(matrix)) {
             return false;
         }
@@ -497,7 +1394,7 @@ public final class MatrixCalc {
      * @param matrix Matrix to be checked
      * @return True if matrix is rectangular, else false
      */
-    private static boolean isRectangular(double[][] matrix) {
+    static boolean isRectangular(double[][] matrix) {
         if (matrix.length <= 0) {
             return false;
         }
@@ -585,6 +1482,95 @@ public final class MatrixCalc {
     public static int getStrassenCutoff() {
         return strassenCutoff;
     }
-}
 
+    public static void setParallelThreshold(int newThreshold) {
+        parallelThreshold = newThreshold >= 1 ? newThreshold : parallelThreshold;
+    }
+
+    public static int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    public static void setStrassenVariant(StrassenVariant newVariant) {
+        strassenVariant = newVariant != null ? newVariant : strassenVariant;
+    }
+
+    public static StrassenVariant getStrassenVariant() {
+        return strassenVariant;
+    }
+
+    /**
+     * Applies an elementwise operation to a range of rows. Ranges larger than ELEMENTWISE_TASK_SIZE values are split
+     * in half and calculated as separate tasks. Rows whose length differs from the first row of the first matrix
+     * mark the calculation as invalid, and are left uncalculated.
+     */
+    private static final class ElementwiseTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ElementwiseOperation operation;
+        private final double[][] firstMatrix;
+        private final double[][] secondMatrix;
+        private final double scalar;
+        private final double[][] result;
+        private final int firstRow;
+        private final int lastRow;
+        private final AtomicBoolean invalid;
+
+        ElementwiseTask(ElementwiseOperation operation, double[][] firstMatrix, double[][] secondMatrix,
+                        double scalar, double[][] result, int firstRow, int lastRow, AtomicBoolean invalid) {
+            this.operation = operation;
+            this.firstMatrix = firstMatrix;
+            this.secondMatrix = secondMatrix;
+            this.scalar = scalar;
+            this.result = result;
+            this.firstRow = firstRow;
+            this.lastRow = lastRow;
+            this.invalid = invalid;
+        }
+
+        @Override
+        protected void compute() {
+            int rows = lastRow - firstRow;
+            if (rows > 1 && (long) rows * firstMatrix[0].length > ELEMENTWISE_TASK_SIZE) {
+                int middleRow = firstRow + rows / 2;
+                invokeAll(new ElementwiseTask(operation, firstMatrix, secondMatrix, scalar, result,
+                                firstRow, middleRow, invalid),
+                        new ElementwiseTask(operation, firstMatrix, secondMatrix, scalar, result,
+                                middleRow, lastRow, invalid));
+            } else {
+                calculateRows();
+            }
+        }
 
+        void calculateRows() {
+            int columns = firstMatrix[0].length;
+            for (int row = firstRow; row < lastRow && !invalid.get(); row++) {
+                double[] first = firstMatrix[row];
+                double[] second = secondMatrix != null ? secondMatrix[row] : null;
+                if (first.length != columns || (second != null && second.length != columns)) {
+                    invalid.set(true);
+                    return;
+                }
+                double[] resultRow = new double[columns];
+                switch (operation) {
+                    case ADD:
+                        for (int column = 0; column < columns; column++) {
+                            resultRow[column] = first[column] + second[column];
+                        }
+                        break;
+                    case SUBTRACT:
+                        for (int column = 0; column < columns; column++) {
+                            resultRow[column] = first[column] - second[column];
+                        }
+                        break;
+                    default:
+                        for (int column = 0; column < columns; column++) {
+                            resultRow[column] = first[column] * scalar;
+                        }
+                        break;
+                }
+                result[row] = resultRow;
+            }
+        }
+    }
+}
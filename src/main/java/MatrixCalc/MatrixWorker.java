@@ -0,0 +1,186 @@
+package MatrixCalc;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+/**
+ * Worker for distributed multiplication. The worker listens on a socket, and for every request received on a
+ * connection multiplies the two matrices sent and writes back the result. The matrices are row and column panels
+ * with a long inner dimension, so they are multiplied with the rectangular kernel, which does not pad them to square
+ * matrices like the Strassen method does. A connection can
+ * carry any number of requests. Workers are normally run as separate processes through the main method, and are
+ * driven by a DistributedMultiplier.
+ */
+public final class MatrixWorker implements Closeable {
+    static final int STATUS_OK = 0;
+    static final int STATUS_ERROR = 1;
+
+    private final ServerSocket serverSocket;
+
+    /**
+     * Creates a worker listening on the given port.
+     *
+     * @param port Port to listen on, or 0 to pick a free port
+     * @throws IOException If the port cannot be opened
+     */
+    public MatrixWorker(int port) throws IOException {
+        this.serverSocket = new ServerSocket(port);
+    }
+
+    /**
+     * Starts a worker process. The optional first argument is the port to listen on. The port actually used is
+     * printed on the first line of standard output once the worker accepts connections.
+     *
+     * @param args Command line arguments
+     * @throws IOException If the port cannot be opened
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        MatrixWorker worker = new MatrixWorker(port);
+        System.out.println(worker.getPort());
+        System.out.flush();
+        worker.serve();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts connections until the worker is closed, serving each connection on its own thread.
+     */
+    public void serve() {
+        while (!serverSocket.isClosed()) {
+            final Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                // Thrown when the server socket is closed
+                return;
+            }
+            Thread handler = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    handleConnection(socket);
+                }
+            });
+            handler.setDaemon(true);
+            handler.start();
+        }
+    }
+
+    /**
+     * Runs serve on a background daemon thread.
+     */
+    public void start() {
+        Thread acceptor = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                serve();
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    /**
+     * Answers requests on the connection until the coordinator closes it.
+     *
+     * @param socket Connection to the coordinator
+     */
+    private void handleConnection(Socket socket) {
+        try (Socket connection = socket) {
+            DataInputStream input = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+            while (true) {
+                double[][] firstMatrix;
+                try {
+                    firstMatrix = readMatrix(input);
+                } catch (EOFException e) {
+                    return;
+                }
+                double[][] secondMatrix = readMatrix(input);
+                try {
+                    if (!MatrixCalc.isValidMultiplication(firstMatrix, secondMatrix)) {
+                        throw new IllegalArgumentException("Both matrices must be rectangular, and the row length " +
+                                "of firstMatrix must equal the column length of secondMatrix");
+                    }
+                    double[][] result = MatrixCalc.multiplyRectangular(firstMatrix, secondMatrix);
+                    output.writeInt(STATUS_OK);
+                    writeMatrix(output, result);
+                } catch (IllegalArgumentException e) {
+                    output.writeInt(STATUS_ERROR);
+                    output.writeUTF(e.getMessage());
+                }
+                output.flush();
+            }
+        } catch (IOException e) {
+            // The coordinator disconnected, nothing left to answer
+        }
+    }
+
+    /**
+     * Writes the size and the values of the matrix to the stream, row by row.
+     *
+     * @param output Stream to write to
+     * @param matrix Rectangular matrix to be written
+     * @throws IOException If writing fails
+     */
+    static void writeMatrix(DataOutputStream output, double[][] matrix) throws IOException {
+        writeMatrix(output, matrix, 0, matrix.length, 0, matrix.length > 0 ? matrix[0].length : 0);
+    }
+
+    /**
+     * Writes a rectangular region of the matrix to the stream in the same format as a full matrix, without copying
+     * the region first.
+     *
+     * @param output      Stream to write to
+     * @param matrix      Matrix containing the region
+     * @param firstRow    First row of the region
+     * @param rows        Number of rows in the region
+     * @param firstColumn First column of the region
+     * @param columns     Number of columns in the region
+     * @throws IOException If writing fails
+     */
+    static void writeMatrix(DataOutputStream output, double[][] matrix, int firstRow, int rows, int firstColumn,
+                            int columns) throws IOException {
+        output.writeInt(rows);
+        output.writeInt(columns);
+        for (int row = firstRow; row < firstRow + rows; row++) {
+            for (int column = firstColumn; column < firstColumn + columns; column++) {
+                output.writeDouble(matrix[row][column]);
+            }
+        }
+    }
+
+    /**
+     * Reads a matrix written by writeMatrix.
+     *
+     * @param input Stream to read from
+     * @return The matrix read
+     * @throws IOException If reading fails
+     */
+    static double[][] readMatrix(DataInputStream input) throws IOException {
+        int rows = input.readInt();
+        int columns = input.readInt();
+        double[][] ret = new double[rows][columns];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                ret[row][column] = input.readDouble();
+            }
+        }
+        return ret;
+    }
+}
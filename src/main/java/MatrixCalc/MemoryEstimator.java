@@ -0,0 +1,149 @@
+package MatrixCalc;
+
+/**
+ * Estimates the peak heap use of the calculations of MatrixCalc from the sizes of the operands. The estimates follow
+ * the allocations of the implementation: the padding of the operands to a power of two, the quarters and helper
+ * matrices kept alive at each level of the Strassen recursion, and the quarters and products of the blockwise
+ * inversion. Only the matrix values are counted, at 8 bytes each, and temporaries that are no longer referenced are
+ * assumed to be collectable. The operands themselves are not included.
+ */
+public final class MemoryEstimator {
+    /**
+     * Size of a single double value in bytes.
+     */
+    private static final long BYTES_PER_VALUE = 8;
+
+    private MemoryEstimator() {
+        // Utility class, constructor not called
+    }
+
+    /**
+     * Estimates the peak memory use of MatrixCalc.multiply with the current cutoff and Strassen variant.
+     *
+     * @param rows    Row count of the first matrix
+     * @param inner   Column count of the first matrix, which equals the row count of the second matrix
+     * @param columns Column count of the second matrix
+     * @return Estimated peak memory use in bytes
+     */
+    public static long multiplyBytes(int rows, int inner, int columns) {
+        return multiplyBytes(rows, inner, columns, MatrixCalc.getStrassenCutoff(), MatrixCalc.getStrassenVariant());
+    }
+
+    /**
+     * Estimates the peak memory use of MatrixCalc.invert with the current cutoff and Strassen variant.
+     *
+     * @param size Length of the sides of the matrix
+     * @return Estimated peak memory use in bytes
+     */
+    public static long invertBytes(int size) {
+        return invertBytes(size, MatrixCalc.getStrassenCutoff(), MatrixCalc.getStrassenVariant());
+    }
+
+    static long multiplyBytes(int rows, int inner, int columns, int cutoff, MatrixCalc.StrassenVariant variant) {
+        return multiplyValues(rows, inner, columns, cutoff, variant) * BYTES_PER_VALUE;
+    }
+
+    static long invertBytes(int size, int cutoff, MatrixCalc.StrassenVariant variant) {
+        return invertValues(size, cutoff, variant) * BYTES_PER_VALUE;
+    }
+
+    /**
+     * Peak number of values allocated by a multiplication, including its result.
+     */
+    private static long multiplyValues(int rows, int inner, int columns, int cutoff,
+                                       MatrixCalc.StrassenVariant variant) {
+        long resultValues = (long) rows * columns;
+        int longestSide = Math.max(rows, Math.max(inner, columns));
+        if (longestSide < cutoff) {
+            return resultValues;
+        }
+        long calcSize = 2;
+        while (calcSize < longestSide) {
+            calcSize *= 2;
+        }
+        long paddedValues = calcSize * calcSize;
+        long padding = 0;
+        if (rows != calcSize || inner != calcSize) {
+            padding += paddedValues;
+        }
+        if (inner != calcSize || columns != calcSize) {
+            padding += paddedValues;
+        }
+        // The padded result is trimmed into a new array only after the recursion has returned, when the padded result
+        // is the only other value left, so the trimming never raises the peak of the recursion
+        return padding + strassenValues(calcSize, cutoff, variant);
+    }
+
+    /**
+     * Peak number of values allocated by one level of the Strassen recursion and the levels below it, including the
+     * result of the level.
+     *
+     * @param size Side length of the matrices at this level, a power of two
+     */
+    private static long strassenValues(long size, int cutoff, MatrixCalc.StrassenVariant variant) {
+        long half = size / 2;
+        long quarter = half * half;
+        // The helper matrices are calculated naively below the cutoff, in which case only their results are allocated
+        long helperPeak = size < cutoff ? quarter : strassenValues(half, cutoff, variant);
+        if (variant == MatrixCalc.StrassenVariant.WINOGRAD) {
+            // 8 quarters and 8 sums are kept throughout. While the 7th helper is calculated 6 others are held, and
+            // the result is allocated next to 7 helpers, 2 shared sums and 4 result quarters.
+            return 16 * quarter + Math.max(6 * quarter + helperPeak, 13 * quarter + size * size);
+        }
+        // 8 quarters are kept throughout. While the 7th helper is calculated 6 others and its 2 operands are held,
+        // and the result is allocated next to 7 helpers and 4 result quarters.
+        return 8 * quarter + Math.max(8 * quarter + helperPeak, 11 * quarter + size * size);
+    }
+
+    /**
+     * Peak number of values allocated by the blockwise inversion, including its result. The quarters of the result
+     * are calculated one after another, each by a chain of products in which the previous product is held while the
+     * next one is calculated, and the finished quarters are held until they are combined.
+     */
+    private static long invertValues(int size, int cutoff, MatrixCalc.StrassenVariant variant) {
+        if (size <= 2) {
+            return (long) size * size;
+        }
+        int small = size / 2;
+        int large = size - small;
+        long values = (long) size * size;
+        long largeValues = (long) large * large;
+        long smallValues = (long) small * small;
+        long mixedValues = (long) large * small;
+
+        // The 4 quarters of the matrix are held throughout, while the bottom right quarter is replaced by its inverse
+        long peak = values + invertValues(small, cutoff, variant);
+
+        // Top left quarter, the inverse of a11 - a12 * a22^-1 * a21
+        long held = values;
+        long step = Math.max(multiplyValues(large, small, small, cutoff, variant),
+                mixedValues + multiplyValues(large, small, large, cutoff, variant));
+        step = Math.max(step, 2 * largeValues);
+        step = Math.max(step, largeValues + invertValues(large, cutoff, variant));
+        peak = Math.max(peak, held + step);
+
+        // Bottom right quarter, a22^-1 + a22^-1 * a21 * c11 * a12 * a22^-1
+        held += largeValues;
+        step = Math.max(multiplyValues(small, small, large, cutoff, variant),
+                mixedValues + multiplyValues(small, large, large, cutoff, variant));
+        step = Math.max(step, mixedValues + multiplyValues(small, large, small, cutoff, variant));
+        step = Math.max(step, smallValues + multiplyValues(small, small, small, cutoff, variant));
+        step = Math.max(step, 2 * smallValues);
+        peak = Math.max(peak, held + step);
+
+        // Top right quarter, -c11 * a12 * a22^-1
+        held += smallValues;
+        step = Math.max(largeValues + multiplyValues(large, large, small, cutoff, variant),
+                mixedValues + multiplyValues(large, small, small, cutoff, variant));
+        peak = Math.max(peak, held + step);
+
+        // Bottom left quarter, -a22^-1 * a21 * c11
+        held += mixedValues;
+        step = Math.max(smallValues + multiplyValues(small, small, large, cutoff, variant),
+                mixedValues + multiplyValues(small, large, large, cutoff, variant));
+        peak = Math.max(peak, held + step);
+
+        // Finally the 4 quarters, the 4 result quarters and the combined result exist at the same time
+        return Math.max(peak, 3 * values);
+    }
+}
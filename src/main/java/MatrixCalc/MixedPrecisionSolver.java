@@ -0,0 +1,359 @@
+package MatrixCalc;
+
+/**
+ * Solves linear systems Ax = b using mixed precision iterative refinement. The matrix is factorized once with LU
+ * decomposition in single precision, which halves the memory traffic of the factorization. The single precision
+ * solution is then refined by calculating the residual in double precision and solving for the correction with the
+ * single precision factors, until the solution is accurate to double precision. If refinement does not converge,
+ * for example because the matrix is too ill-conditioned for single precision, the system is solved again with a
+ * double precision factorization. Triangular and tridiagonal systems are detected and solved directly in double
+ * precision with substitution and the Thomas algorithm, as they need no factorization. Since neither method pivots,
+ * their solution is only returned if it meets the same accuracy as refinement, else the system is factorized.
+ */
+public final class MixedPrecisionSolver {
+    /**
+     * Default maximum number of refinement iterations before falling back to double precision.
+     */
+    private static final int DEFAULT_MAX_ITERATIONS = 30;
+
+    /**
+     * Machine epsilon of double precision values.
+     */
+    private static final double DOUBLE_EPSILON = Math.ulp(1.0);
+
+    private MixedPrecisionSolver() {
+        // Utility class, constructor not called
+    }
+
+    /**
+     * The solution of a linear system along with information on how it was reached.
+     */
+    public static final class Result {
+        private final double[] solution;
+        private final int iterations;
+        private final double residual;
+        private final boolean doubleFallback;
+
+        Result(double[] solution, int iterations, double residual, boolean doubleFallback) {
+            this.solution = solution;
+            this.iterations = iterations;
+            this.residual = residual;
+            this.doubleFallback = doubleFallback;
+        }
+
+        public double[] getSolution() {
+            return solution;
+        }
+
+        /**
+         * @return Number of refinement iterations performed on the single precision solution
+         */
+        public int getIterations() {
+            return iterations;
+        }
+
+        /**
+         * @return The largest absolute value of b - Ax for the returned solution
+         */
+        public double getResidual() {
+            return residual;
+        }
+
+        /**
+         * @return True if refinement did not converge and the system was solved in double precision instead
+         */
+        public boolean usedDoubleFallback() {
+            return doubleFallback;
+        }
+    }
+
+    /**
+     * Solves the system using the default iteration limit.
+     *
+     * @param matrix Square coefficient matrix A
+     * @param vector Right hand side b, as long as the sides of the matrix
+     * @return The solution x along with the iteration count and residual
+     */
+    public static Result solve(double[][] matrix, double[] vector) {
+        return solve(matrix, vector, DEFAULT_MAX_ITERATIONS);
+    }
+
+    /**
+     * Checks that the matrix is square, the vector matches its size and the iteration limit is not negative, and
+     * solves the system. Refinement stops once the residual satisfies ||b - Ax|| <= sqrt(n) * ||A|| * ||x|| * eps in
+     * the maximum norm, with eps the double precision machine epsilon. Note that the method does not check whether or
+     * not the matrix is invertible, so the solution may consist of NaN or infinite values.
+     *
+     * @param matrix        Square coefficient matrix A
+     * @param vector        Right hand side b, as long as the sides of the matrix
+     * @param maxIterations Maximum number of refinement iterations before falling back to double precision, must not
+     *                      be negative
+     * @return The solution x along with the iteration count and residual
+     */
+    public static Result solve(double[][] matrix, double[] vector, int maxIterations) {
+        if (!MatrixCalc.isSquare(matrix) || vector.length != matrix.length) {
+            throw new IllegalArgumentException("Matrix must be square, and the vector must be as long as its sides");
+        }
+        if (maxIterations < 0) {
+            throw new IllegalArgumentException("Maximum iteration count must not be negative");
+        }
+        int matrixSize = matrix.length;
+        double matrixNorm = maximumRowSum(matrix);
+        double threshold = Math.sqrt(matrixSize) * matrixNorm * DOUBLE_EPSILON;
+
+        // Neither substitution nor the Thomas algorithm pivots, so a structured solution is only kept if it is
+        // accurate, else the system is factorized like any other
+        double[] structured = solveStructured(matrix, vector);
+        if (structured != null) {
+            double residualNorm = maximumValue(residual(matrix, vector, structured));
+            if (residualNorm <= threshold * maximumValue(structured)) {
+                return new Result(structured, 0, residualNorm, false);
+            }
+        }
+
+        // Factorize and solve in single precision
+        float[][] factors = new float[matrixSize][matrixSize];
+        for (int row = 0; row < matrixSize; row++) {
+            for (int column = 0; column < matrixSize; column++) {
+                factors[row][column] = (float) matrix[row][column];
+            }
+        }
+        int[] permutation = new int[matrixSize];
+        int iterations = 0;
+        if (factorizeSingle(factors, permutation)) {
+            double[] solution = solveSingle(factors, permutation, vector);
+            while (true) {
+                double[] residual = residual(matrix, vector, solution);
+                double residualNorm = maximumValue(residual);
+                if (residualNorm <= threshold * maximumValue(solution)) {
+                    return new Result(solution, iterations, residualNorm, false);
+                }
+                if (Double.isNaN(residualNorm) || Double.isInfinite(residualNorm) || iterations == maxIterations) {
+                    break;
+                }
+                iterations++;
+                double[] correction = solveSingle(factors, permutation, residual);
+                for (int i = 0; i < matrixSize; i++) {
+                    solution[i] += correction[i];
+                }
+            }
+        }
+
+        // Refinement did not converge, solve in double precision
+        double[] solution = solveDouble(matrix, vector);
+        return new Result(solution, iterations, maximumValue(residual(matrix, vector, solution)), true);
+    }
+
+    /**
+     * Solves triangular systems with substitution and tridiagonal systems with the Thomas algorithm.
+     *
+     * @param matrix Square coefficient matrix
+     * @param vector Right hand side
+     * @return The solution, or null if the matrix is neither triangular nor tridiagonal
+     */
+    private static double[] solveStructured(double[][] matrix, double[] vector) {
+        int matrixSize = matrix.length;
+        boolean lowerTriangular = true;
+        boolean upperTriangular = true;
+        boolean tridiagonal = true;
+        for (int row = 0; row < matrixSize && (lowerTriangular || upperTriangular || tridiagonal); row++) {
+            for (int column = 0; column < matrixSize; column++) {
+                if (matrix[row][column] != 0) {
+                    lowerTriangular &= column <= row;
+                    upperTriangular &= column >= row;
+                    tridiagonal &= Math.abs(column - row) <= 1;
+                }
+            }
+        }
+        if (lowerTriangular || upperTriangular) {
+            return MatrixCalc.solveTriangular(matrix, vector);
+        }
+        if (tridiagonal) {
+            double[] lower = new double[matrixSize - 1];
+            double[] diagonal = new double[matrixSize];
+            double[] upper = new double[matrixSize - 1];
+            for (int i = 0; i < matrixSize; i++) {
+                diagonal[i] = matrix[i][i];
+                if (i > 0) {
+                    lower[i - 1] = matrix[i][i - 1];
+                    upper[i - 1] = matrix[i - 1][i];
+                }
+            }
+            return MatrixCalc.solveTridiagonal(lower, diagonal, upper, vector);
+        }
+        return null;
+    }
+
+    /**
+     * LU factorization with partial pivoting in single precision. The factors replace the values of the matrix, with
+     * the unit diagonal of L left implicit, and the row order is stored in the permutation array.
+     *
+     * @param factors     Matrix to be factorized in place
+     * @param permutation Array receiving the original index of each row
+     * @return False if a zero pivot was found, else true
+     */
+    private static boolean factorizeSingle(float[][] factors, int[] permutation) {
+        int matrixSize = factors.length;
+        for (int i = 0; i < matrixSize; i++) {
+            permutation[i] = i;
+        }
+        for (int i = 0; i < matrixSize; i++) {
+            int pivotRow = i;
+            for (int row = i + 1; row < matrixSize; row++) {
+                if (Math.abs(factors[row][i]) > Math.abs(factors[pivotRow][i])) {
+                    pivotRow = row;
+                }
+            }
+            if (factors[pivotRow][i] == 0) {
+                return false;
+            }
+            if (pivotRow != i) {
+                float[] tempRow = factors[pivotRow];
+                factors[pivotRow] = factors[i];
+                factors[i] = tempRow;
+                int tempIndex = permutation[pivotRow];
+                permutation[pivotRow] = permutation[i];
+                permutation[i] = tempIndex;
+            }
+            float[] pivotValues = factors[i];
+            for (int row = i + 1; row < matrixSize; row++) {
+                float[] rowValues = factors[row];
+                float multiplier = rowValues[i] / pivotValues[i];
+                rowValues[i] = multiplier;
+                for (int column = i + 1; column < matrixSize; column++) {
+                    rowValues[column] -= multiplier * pivotValues[column];
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Solves the system with the single precision factors, rounding the right hand side to single precision.
+     *
+     * @param factors     LU factors from factorizeSingle
+     * @param permutation Row order from factorizeSingle
+     * @param vector      Right hand side
+     * @return The solution, widened to double precision
+     */
+    private static double[] solveSingle(float[][] factors, int[] permutation, double[] vector) {
+        int matrixSize = factors.length;
+        float[] values = new float[matrixSize];
+        for (int i = 0; i < matrixSize; i++) {
+            values[i] = (float) vector[permutation[i]];
+        }
+        for (int row = 1; row < matrixSize; row++) {
+            float sum = values[row];
+            for (int column = 0; column < row; column++) {
+                sum -= factors[row][column] * values[column];
+            }
+            values[row] = sum;
+        }
+        for (int row = matrixSize - 1; row >= 0; row--) {
+            float sum = values[row];
+            for (int column = row + 1; column < matrixSize; column++) {
+                sum -= factors[row][column] * values[column];
+            }
+            values[row] = sum / factors[row][row];
+        }
+        double[] ret = new double[matrixSize];
+        for (int i = 0; i < matrixSize; i++) {
+            ret[i] = values[i];
+        }
+        return ret;
+    }
+
+    /**
+     * Solves the system with LU factorization with partial pivoting in double precision.
+     *
+     * @param matrix Coefficient matrix, not modified
+     * @param vector Right hand side, not modified
+     * @return The solution
+     */
+    private static double[] solveDouble(double[][] matrix, double[] vector) {
+        int matrixSize = matrix.length;
+        double[][] factors = new double[matrixSize][];
+        double[] values = new double[matrixSize];
+        for (int row = 0; row < matrixSize; row++) {
+            factors[row] = matrix[row].clone();
+            values[row] = vector[row];
+        }
+        for (int i = 0; i < matrixSize; i++) {
+            int pivotRow = i;
+            for (int row = i + 1; row < matrixSize; row++) {
+                if (Math.abs(factors[row][i]) > Math.abs(factors[pivotRow][i])) {
+                    pivotRow = row;
+                }
+            }
+            if (pivotRow != i) {
+                double[] tempRow = factors[pivotRow];
+                factors[pivotRow] = factors[i];
+                factors[i] = tempRow;
+                double tempValue = values[pivotRow];
+                values[pivotRow] = values[i];
+                values[i] = tempValue;
+            }
+            double[] pivotValues = factors[i];
+            for (int row = i + 1; row < matrixSize; row++) {
+                double[] rowValues = factors[row];
+                double multiplier = rowValues[i] / pivotValues[i];
+                for (int column = i + 1; column < matrixSize; column++) {
+                    rowValues[column] -= multiplier * pivotValues[column];
+                }
+                values[row] -= multiplier * values[i];
+            }
+        }
+        for (int row = matrixSize - 1; row >= 0; row--) {
+            double sum = values[row];
+            for (int column = row + 1; column < matrixSize; column++) {
+                sum -= factors[row][column] * values[column];
+            }
+            values[row] = sum / factors[row][row];
+        }
+        return values;
+    }
+
+    /**
+     * Calculates b - Ax in double precision.
+     */
+    private static double[] residual(double[][] matrix, double[] vector, double[] solution) {
+        double[] ret = new double[vector.length];
+        for (int row = 0; row < matrix.length; row++) {
+            double sum = vector[row];
+            for (int column = 0; column < solution.length; column++) {
+                sum -= matrix[row][column] * solution[column];
+            }
+            ret[row] = sum;
+        }
+        return ret;
+    }
+
+    /**
+     * Calculates the maximum norm of the vector. NaN values are propagated.
+     */
+    private static double maximumValue(double[] vector) {
+        double ret = 0;
+        for (double value : vector) {
+            if (Double.isNaN(value)) {
+                return Double.NaN;
+            }
+            ret = Math.max(ret, Math.abs(value));
+        }
+        return ret;
+    }
+
+    /**
+     * Calculates the maximum norm of the matrix, the largest absolute row sum.
+     */
+    private static double maximumRowSum(double[][] matrix) {
+        double ret = 0;
+        for (double[] row : matrix) {
+            double sum = 0;
+            for (double value : row) {
+                sum += Math.abs(value);
+            }
+            ret = Math.max(ret, sum);
+        }
+        return ret;
+    }
+}
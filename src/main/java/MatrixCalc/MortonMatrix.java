@@ -0,0 +1,406 @@
+package MatrixCalc;
+
+/**
+ * Matrix stored in a tiled Morton (Z-order) layout. The matrix is padded with zeros to a square whose side is the
+ * tile size times a power of two, and divided into square tiles stored row by row. The tiles themselves are ordered
+ * so that the top left, top right, bottom left and bottom right quarters of the matrix each occupy one contiguous
+ * part of the value array, in that order, and the same holds recursively within every quarter. The recursive
+ * algorithms can therefore address any quarter at any level by an offset alone, and elementwise operations on
+ * quarters become single passes over contiguous memory.
+ */
+public final class MortonMatrix {
+    /**
+     * Tile size used when none is given.
+     */
+    private static final int DEFAULT_TILE_SIZE = 32;
+
+    private final int rows;
+    private final int columns;
+    private final int tileSize;
+    private final int paddedSize;
+    private final double[] values;
+
+    private MortonMatrix(int rows, int columns, int tileSize, int paddedSize, double[] values) {
+        this.rows = rows;
+        this.columns = columns;
+        this.tileSize = tileSize;
+        this.paddedSize = paddedSize;
+        this.values = values;
+    }
+
+    /**
+     * Converts a row-major matrix into the Morton layout using the default tile size.
+     *
+     * @param matrix Rectangular matrix to be converted
+     * @return The converted matrix
+     */
+    public static MortonMatrix fromArray(double[][] matrix) {
+        return fromArray(matrix, DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * Converts a row-major matrix into the Morton layout.
+     *
+     * @param matrix   Rectangular matrix to be converted
+     * @param tileSize Side length of the tiles, must be at least 1
+     * @return The converted matrix
+     */
+    public static MortonMatrix fromArray(double[][] matrix, int tileSize) {
+        if (!MatrixCalc.isRectangular(matrix)) {
+            throw new IllegalArgumentException("Matrix must be rectangular");
+        }
+        if (tileSize < 1) {
+            throw new IllegalArgumentException("Tile size must be positive");
+        }
+        int paddedSize = paddedSize(Math.max(matrix.length, matrix[0].length), tileSize);
+        MortonMatrix ret = new MortonMatrix(matrix.length, matrix[0].length, tileSize, paddedSize,
+                new double[checkedLength(paddedSize)]);
+        for (int row = 0; row < ret.rows; row++) {
+            // Each row of a tile is contiguous, so the row is copied one tile width at a time
+            for (int column = 0; column < ret.columns; column += tileSize) {
+                int length = Math.min(tileSize, ret.columns - column);
+                System.arraycopy(matrix[row], column, ret.values, ret.index(row, column), length);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Converts the matrix back into a row-major array of its original size.
+     *
+     * @return The matrix as a new 2-dimensional double array
+     */
+    public double[][] toArray() {
+        double[][] ret = new double[rows][columns];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column += tileSize) {
+                int length = Math.min(tileSize, columns - column);
+                System.arraycopy(values, index(row, column), ret[row], column, length);
+            }
+        }
+        return ret;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public double get(int row, int column) {
+        if (row < 0 || column < 0 || row >= rows || column >= columns) {
+            throw new IllegalArgumentException("Index must be within the matrix");
+        }
+        return values[index(row, column)];
+    }
+
+    /**
+     * Multiplies this matrix with another one of the same tile size using the Strassen method. The recursion works
+     * on quarter offsets directly, and all temporary quarters are taken from a single workspace allocated up front,
+     * so no values are copied between levels.
+     *
+     * @param other Second matrix used in the multiplication
+     * @return The result of the multiplication
+     */
+    MortonMatrix multiply(MortonMatrix other) {
+        int size = Math.max(paddedSize, other.paddedSize);
+        double[] first = padded(size);
+        double[] second = other.padded(size);
+        double[] result = new double[checkedLength(size)];
+        double[] workspace = new double[workspaceLength(size)];
+        multiplyStrassen(first, 0, second, 0, result, 0, size, workspace, 0);
+        return new MortonMatrix(rows, other.columns, tileSize, size, result);
+    }
+
+    /**
+     * Inverts this square matrix using blockwise inversion. The padding is filled with an identity matrix so that
+     * the padded matrix stays invertible, and its inverse contains the inverse of the original matrix in the top
+     * left corner. Note that the method does not check whether or not the matrix is invertible, so the result may
+     * consist of NaN values.
+     *
+     * @return The inverse of the matrix
+     */
+    MortonMatrix invert() {
+        double[] source = values.clone();
+        for (int i = rows; i < paddedSize; i++) {
+            source[index(i, i)] = 1;
+        }
+        double[] result = new double[source.length];
+        double[] workspace = new double[workspaceLength(paddedSize)];
+        invertBlockwise(source, 0, result, 0, paddedSize, workspace);
+        return new MortonMatrix(rows, columns, tileSize, paddedSize, result);
+    }
+
+    /**
+     * Recursively multiplies the quarters at the given offsets with the Strassen method, writing the result over the
+     * target quarter. Each of the 7 helper products is calculated into the same temporary quarter and immediately
+     * added to the quarters of the result it contributes to.
+     *
+     * @param a               Values containing the first matrix
+     * @param aOffset         Offset of the first matrix
+     * @param b               Values containing the second matrix
+     * @param bOffset         Offset of the second matrix
+     * @param c               Values receiving the result
+     * @param cOffset         Offset of the result
+     * @param size            Side length of the matrices at this level
+     * @param workspace       Temporary values for this level and the levels below it
+     * @param workspaceOffset First free position of the workspace
+     */
+    private void multiplyStrassen(double[] a, int aOffset, double[] b, int bOffset, double[] c, int cOffset,
+                                  int size, double[] workspace, int workspaceOffset) {
+        if (size == tileSize) {
+            multiplyTile(a, aOffset, b, bOffset, c, cOffset);
+            return;
+        }
+        int quarter = size / 2 * (size / 2);
+        int a11 = aOffset;
+        int a12 = aOffset + quarter;
+        int a21 = aOffset + 2 * quarter;
+        int a22 = aOffset + 3 * quarter;
+        int b11 = bOffset;
+        int b12 = bOffset + quarter;
+        int b21 = bOffset + 2 * quarter;
+        int b22 = bOffset + 3 * quarter;
+        int c11 = cOffset;
+        int c12 = cOffset + quarter;
+        int c21 = cOffset + 2 * quarter;
+        int c22 = cOffset + 3 * quarter;
+        // Two operand quarters and one product quarter, the levels below use the workspace after them
+        int s = workspaceOffset;
+        int t = workspaceOffset + quarter;
+        int m = workspaceOffset + 2 * quarter;
+        int next = workspaceOffset + 3 * quarter;
+        int half = size / 2;
+
+        // m1 = (a11 + a22)(b11 + b22), added to c11 and c22
+        combine(a, a11, 1, a, a22, workspace, s, quarter);
+        combine(b, b11, 1, b, b22, workspace, t, quarter);
+        multiplyStrassen(workspace, s, workspace, t, workspace, m, half, workspace, next);
+        System.arraycopy(workspace, m, c, c11, quarter);
+        System.arraycopy(workspace, m, c, c22, quarter);
+        // m2 = (a21 + a22)b11, added to c21 and subtracted from c22
+        combine(a, a21, 1, a, a22, workspace, s, quarter);
+        multiplyStrassen(workspace, s, b, b11, workspace, m, half, workspace, next);
+        System.arraycopy(workspace, m, c, c21, quarter);
+        accumulate(workspace, m, -1, c, c22, quarter);
+        // m3 = a11(b12 - b22), added to c12 and c22
+        combine(b, b12, -1, b, b22, workspace, t, quarter);
+        multiplyStrassen(a, a11, workspace, t, workspace, m, half, workspace, next);
+        System.arraycopy(workspace, m, c, c12, quarter);
+        accumulate(workspace, m, 1, c, c22, quarter);
+        // m4 = a22(b21 - b11), added to c11 and c21
+        combine(b, b21, -1, b, b11, workspace, t, quarter);
+        multiplyStrassen(a, a22, workspace, t, workspace, m, half, workspace, next);
+        accumulate(workspace, m, 1, c, c11, quarter);
+        accumulate(workspace, m, 1, c, c21, quarter);
+        // m5 = (a11 + a12)b22, subtracted from c11 and added to c12
+        combine(a, a11, 1, a, a12, workspace, s, quarter);
+        multiplyStrassen(workspace, s, b, b22, workspace, m, half, workspace, next);
+        accumulate(workspace, m, -1, c, c11, quarter);
+        accumulate(workspace, m, 1, c, c12, quarter);
+        // m6 = (a21 - a11)(b11 + b12), added to c22
+        combine(a, a21, -1, a, a11, workspace, s, quarter);
+        combine(b, b11, 1, b, b12, workspace, t, quarter);
+        multiplyStrassen(workspace, s, workspace, t, workspace, m, half, workspace, next);
+        accumulate(workspace, m, 1, c, c22, quarter);
+        // m7 = (a12 - a22)(b21 + b22), added to c11
+        combine(a, a12, -1, a, a22, workspace, s, quarter);
+        combine(b, b21, 1, b, b22, workspace, t, quarter);
+        multiplyStrassen(workspace, s, workspace, t, workspace, m, half, workspace, next);
+        accumulate(workspace, m, 1, c, c11, quarter);
+    }
+
+    /**
+     * Recursively inverts the quarter at the given offset with blockwise inversion, in the same order as the
+     * row-major method of MatrixCalc: the bottom right quarter is inverted first, and the top left quarter of the
+     * result is the inverse of its Schur complement.
+     *
+     * @param source       Values containing the matrix, not modified
+     * @param sourceOffset Offset of the matrix
+     * @param target       Values receiving the inverse
+     * @param targetOffset Offset of the inverse
+     * @param size         Side length of the matrix at this level
+     * @param workspace    Workspace for the multiplications
+     */
+    private void invertBlockwise(double[] source, int sourceOffset, double[] target, int targetOffset, int size,
+                                 double[] workspace) {
+        if (size == tileSize) {
+            invertTile(source, sourceOffset, target, targetOffset);
+            return;
+        }
+        int half = size / 2;
+        int quarter = half * half;
+        int a11 = sourceOffset;
+        int a12 = sourceOffset + quarter;
+        int a21 = sourceOffset + 2 * quarter;
+        int a22 = sourceOffset + 3 * quarter;
+        int c11 = targetOffset;
+        int c12 = targetOffset + quarter;
+        int c21 = targetOffset + 2 * quarter;
+        int c22 = targetOffset + 3 * quarter;
+        // Temporary quarters: the inverse of a22, a22^-1 * a21, a12 * a22^-1 and the Schur complement
+        double[] temporary = new double[4 * quarter];
+        int inverse22 = 0;
+        int left = quarter;
+        int right = 2 * quarter;
+        int schur = 3 * quarter;
+
+        invertBlockwise(source, a22, temporary, inverse22, half, workspace);
+        multiplyStrassen(temporary, inverse22, source, a21, temporary, left, half, workspace, 0);
+        multiplyStrassen(source, a12, temporary, inverse22, temporary, right, half, workspace, 0);
+        // Schur complement a11 - a12 * a22^-1 * a21, with the product calculated into c22 for the time being
+        multiplyStrassen(source, a12, temporary, left, target, c22, half, workspace, 0);
+        combine(source, a11, -1, target, c22, temporary, schur, quarter);
+        invertBlockwise(temporary, schur, target, c11, half, workspace);
+        // c12 = -c11 * a12 * a22^-1 and c21 = -a22^-1 * a21 * c11
+        multiplyStrassen(target, c11, temporary, right, target, c12, half, workspace, 0);
+        multiplyStrassen(temporary, left, target, c11, target, c21, half, workspace, 0);
+        for (int i = 0; i < quarter; i++) {
+            target[c12 + i] = -target[c12 + i];
+            target[c21 + i] = -target[c21 + i];
+        }
+        // c22 = a22^-1 - c21 * a12 * a22^-1
+        multiplyStrassen(target, c21, temporary, right, target, c22, half, workspace, 0);
+        combine(temporary, inverse22, -1, target, c22, target, c22, quarter);
+    }
+
+    /**
+     * Multiplies two row-major tiles, writing over the target tile.
+     */
+    private void multiplyTile(double[] a, int aOffset, double[] b, int bOffset, double[] c, int cOffset) {
+        for (int row = 0; row < tileSize; row++) {
+            int resultRow = cOffset + row * tileSize;
+            for (int column = 0; column < tileSize; column++) {
+                c[resultRow + column] = 0;
+            }
+            for (int inner = 0; inner < tileSize; inner++) {
+                double value = a[aOffset + row * tileSize + inner];
+                int secondRow = bOffset + inner * tileSize;
+                for (int column = 0; column < tileSize; column++) {
+                    c[resultRow + column] += value * b[secondRow + column];
+                }
+            }
+        }
+    }
+
+    /**
+     * Inverts a row-major tile using Gauss-Jordan elimination with partial pivoting.
+     */
+    private void invertTile(double[] source, int sourceOffset, double[] target, int targetOffset) {
+        double[][] work = new double[tileSize][2 * tileSize];
+        for (int row = 0; row < tileSize; row++) {
+            System.arraycopy(source, sourceOffset + row * tileSize, work[row], 0, tileSize);
+            work[row][tileSize + row] = 1;
+        }
+        for (int i = 0; i < tileSize; i++) {
+            int pivotRow = i;
+            for (int row = i + 1; row < tileSize; row++) {
+                if (Math.abs(work[row][i]) > Math.abs(work[pivotRow][i])) {
+                    pivotRow = row;
+                }
+            }
+            double[] temp = work[pivotRow];
+            work[pivotRow] = work[i];
+            work[i] = temp;
+            double pivot = work[i][i];
+            for (int column = 0; column < 2 * tileSize; column++) {
+                work[i][column] /= pivot;
+            }
+            for (int row = 0; row < tileSize; row++) {
+                double factor = work[row][i];
+                if (row != i && factor != 0) {
+                    for (int column = 0; column < 2 * tileSize; column++) {
+                        work[row][column] -= factor * work[i][column];
+                    }
+                }
+            }
+        }
+        for (int row = 0; row < tileSize; row++) {
+            System.arraycopy(work[row], tileSize, target, targetOffset + row * tileSize, tileSize);
+        }
+    }
+
+    /**
+     * Calculates first + sign * second over a contiguous range into the target.
+     */
+    private static void combine(double[] first, int firstOffset, int sign, double[] second, int secondOffset,
+                                double[] target, int targetOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            target[targetOffset + i] = first[firstOffset + i] + sign * second[secondOffset + i];
+        }
+    }
+
+    /**
+     * Adds sign * source to the target over a contiguous range.
+     */
+    private static void accumulate(double[] source, int sourceOffset, int sign, double[] target, int targetOffset,
+                                   int length) {
+        for (int i = 0; i < length; i++) {
+            target[targetOffset + i] += sign * source[sourceOffset + i];
+        }
+    }
+
+    /**
+     * Returns the values of the matrix padded to the given size. As the top left quarter of a Morton layout starts at
+     * offset zero, growing the padding only requires copying the values to the start of a larger array.
+     */
+    private double[] padded(int size) {
+        if (size == paddedSize) {
+            return values;
+        }
+        double[] ret = new double[checkedLength(size)];
+        System.arraycopy(values, 0, ret, 0, values.length);
+        return ret;
+    }
+
+    /**
+     * Returns the position of the value in the value array. The tile is found by interleaving the bits of its row
+     * and column numbers, with the row bit above the column bit at every level.
+     */
+    private int index(int row, int column) {
+        int tileRow = row / tileSize;
+        int tileColumn = column / tileSize;
+        long tile = 0;
+        for (int bit = 0; (tileRow >> bit) != 0 || (tileColumn >> bit) != 0; bit++) {
+            tile |= (long) ((tileRow >> bit) & 1) << (2 * bit + 1);
+            tile |= (long) ((tileColumn >> bit) & 1) << (2 * bit);
+        }
+        return (int) (tile * tileSize * tileSize) + (row % tileSize) * tileSize + column % tileSize;
+    }
+
+    /**
+     * Returns the workspace needed by the Strassen recursion, three quarters per level.
+     */
+    private int workspaceLength(int size) {
+        long length = 0;
+        for (long levelSize = size; levelSize > tileSize; levelSize /= 2) {
+            length += 3 * (levelSize / 2) * (levelSize / 2);
+        }
+        return (int) length;
+    }
+
+    private static int paddedSize(int longestSide, int tileSize) {
+        long size = tileSize;
+        while (size < longestSide) {
+            size *= 2;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Matrix is too large for the Morton layout");
+        }
+        return (int) size;
+    }
+
+    private static int checkedLength(int paddedSize) {
+        long length = (long) paddedSize * paddedSize;
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Matrix is too large for the Morton layout");
+        }
+        return (int) length;
+    }
+}
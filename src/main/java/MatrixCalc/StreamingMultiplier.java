@@ -0,0 +1,139 @@
+package MatrixCalc;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Multiplies a stream of row blocks of a tall matrix A with a fixed matrix B, producing the matching row blocks of
+ * A * B. Neither the full A nor the full result ever needs to be held in memory. B is packed once into a single
+ * contiguous array when the multiplier is created, and row blocks are multiplied in parallel by a pool of worker
+ * threads. At most maxBlocksInFlight blocks are being processed or waiting for delivery at any time, which bounds
+ * the memory use of the pipeline. Result blocks are delivered to the consumer in the order of the input blocks.
+ */
+public final class StreamingMultiplier {
+    /**
+     * Receives the result blocks of a streaming multiplication.
+     */
+    public interface RowBlockConsumer {
+        /**
+         * Called once per input block, in input order, on the thread that called multiply.
+         *
+         * @param resultBlock The rows of A * B matching the input block
+         */
+        void accept(double[][] resultBlock);
+    }
+
+    private final double[] packedMatrix;
+    private final int innerSize;
+    private final int columns;
+    private final int threads;
+    private final int maxBlocksInFlight;
+
+    /**
+     * Creates a multiplier for the given right hand matrix.
+     *
+     * @param secondMatrix      The matrix B that every row block is multiplied with
+     * @param threads           Number of worker threads, must be at least 1
+     * @param maxBlocksInFlight Maximum number of blocks being processed at once, must be at least 1
+     */
+    public StreamingMultiplier(double[][] secondMatrix, int threads, int maxBlocksInFlight) {
+        if (!MatrixCalc.isRectangular(secondMatrix)) {
+            throw new IllegalArgumentException("Matrix must be rectangular");
+        }
+        if (threads < 1 || maxBlocksInFlight < 1) {
+            throw new IllegalArgumentException("Thread and block counts must be positive");
+        }
+        this.innerSize = secondMatrix.length;
+        this.columns = secondMatrix[0].length;
+        this.threads = threads;
+        this.maxBlocksInFlight = maxBlocksInFlight;
+        // Pack B row by row into one array, so the kernel reads it sequentially
+        this.packedMatrix = new double[innerSize * columns];
+        for (int row = 0; row < innerSize; row++) {
+            System.arraycopy(secondMatrix[row], 0, packedMatrix, row * columns, columns);
+        }
+    }
+
+    /**
+     * Multiplies every block supplied by the iterator with B and passes the results to the consumer. Each block
+     * must be rectangular and have as many columns as B has rows. The method returns once all blocks have been
+     * delivered.
+     *
+     * @param rowBlocks Row blocks of A, in order
+     * @param consumer  Receiver of the result blocks
+     * @return The total number of rows multiplied
+     */
+    public long multiply(Iterator<double[][]> rowBlocks, RowBlockConsumer consumer) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        ArrayDeque<Future<double[][]>> pending = new ArrayDeque<>();
+        long rows = 0;
+        try {
+            while (rowBlocks.hasNext()) {
+                final double[][] block = rowBlocks.next();
+                if (!MatrixCalc.isRectangular(block) || block[0].length != innerSize) {
+                    throw new IllegalArgumentException("Row blocks must be rectangular, and their row length must " +
+                            "equal the column length of the second matrix");
+                }
+                rows += block.length;
+                // Wait for the oldest block before reading further, so memory use stays bounded
+                if (pending.size() >= maxBlocksInFlight) {
+                    consumer.accept(await(pending.poll()));
+                }
+                pending.add(executor.submit(new Callable<double[][]>() {
+                    @Override
+                    public double[][] call() {
+                        return multiplyBlock(block);
+                    }
+                }));
+            }
+            while (!pending.isEmpty()) {
+                consumer.accept(await(pending.poll()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return rows;
+    }
+
+    /**
+     * Multiplies a single row block with the packed matrix. The inner loop runs along the rows of the packed matrix,
+     * so both it and the result row are accessed sequentially.
+     *
+     * @param block Row block to be multiplied
+     * @return The result block
+     */
+    private double[][] multiplyBlock(double[][] block) {
+        double[][] ret = new double[block.length][columns];
+        for (int row = 0; row < block.length; row++) {
+            double[] resultRow = ret[row];
+            double[] blockRow = block[row];
+            for (int inner = 0; inner < innerSize; inner++) {
+                double value = blockRow[inner];
+                int offset = inner * columns;
+                for (int column = 0; column < columns; column++) {
+                    resultRow[column] += value * packedMatrix[offset + column];
+                }
+            }
+        }
+        return ret;
+    }
+
+    private static double[][] await(Future<double[][]> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a row block", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Row block multiplication failed", e.getCause());
+        }
+    }
+}
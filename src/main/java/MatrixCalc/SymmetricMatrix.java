@@ -0,0 +1,196 @@
+package MatrixCalc;
+
+/**
+ * Square symmetric matrix stored in packed form. Only the lower triangle is kept, row by row in a single array, so
+ * the matrix takes roughly half the memory of the equivalent 2-dimensional array. Values above the diagonal are read
+ * from their mirrored position below it.
+ */
+public final class SymmetricMatrix {
+    private final int size;
+    private final double[] values;
+
+    /**
+     * Creates a symmetric matrix of the given size with all values set to zero.
+     *
+     * @param size Length of the sides of the matrix, must be at least 1
+     */
+    public SymmetricMatrix(int size) {
+        this(size, new double[packedLength(size)]);
+    }
+
+    /**
+     * Creates a symmetric matrix around an existing packed array, without copying it.
+     *
+     * @param size   Length of the sides of the matrix
+     * @param values Lower triangle of the matrix, row by row
+     */
+    SymmetricMatrix(int size, double[] values) {
+        this.size = size;
+        this.values = values;
+    }
+
+    /**
+     * Creates a packed copy of the given square matrix. Only the lower triangle and the diagonal are read, so the
+     * values above the diagonal are assumed to mirror them.
+     *
+     * @param matrix Square matrix to be packed
+     * @return The packed matrix
+     */
+    public static SymmetricMatrix fromArray(double[][] matrix) {
+        if (!MatrixCalc.isSquare(matrix)) {
+            throw new IllegalArgumentException("Matrix must be square");
+        }
+        SymmetricMatrix ret = new SymmetricMatrix(matrix.length);
+        for (int row = 0; row < matrix.length; row++) {
+            System.arraycopy(matrix[row], 0, ret.values, index(row, 0), row + 1);
+        }
+        return ret;
+    }
+
+    /**
+     * Expands the matrix into a full 2-dimensional array.
+     *
+     * @return The matrix as a new 2-dimensional double array
+     */
+    public double[][] toArray() {
+        double[][] ret = new double[size][size];
+        for (int row = 0; row < size; row++) {
+            int offset = index(row, 0);
+            for (int column = 0; column <= row; column++) {
+                ret[row][column] = values[offset + column];
+                ret[column][row] = values[offset + column];
+            }
+        }
+        return ret;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public double get(int row, int column) {
+        return values[checkedIndex(row, column)];
+    }
+
+    /**
+     * Sets the value at the given position, which also sets the mirrored value across the diagonal.
+     *
+     * @param row    Row of the value
+     * @param column Column of the value
+     * @param value  New value
+     */
+    public void set(int row, int column, double value) {
+        values[checkedIndex(row, column)] = value;
+    }
+
+    /**
+     * Calculates the Cholesky factor L of the matrix, so that L * L^T equals the matrix.
+     *
+     * @return L as a packed lower triangle, or null if the matrix is not positive definite
+     */
+    double[] choleskyFactor() {
+        double[] factor = new double[values.length];
+        for (int row = 0; row < size; row++) {
+            int rowOffset = index(row, 0);
+            for (int column = 0; column <= row; column++) {
+                int columnOffset = index(column, 0);
+                double sum = values[rowOffset + column];
+                for (int k = 0; k < column; k++) {
+                    sum -= factor[rowOffset + k] * factor[columnOffset + k];
+                }
+                if (row == column) {
+                    if (!(sum > 0)) {
+                        return null;
+                    }
+                    factor[rowOffset + column] = Math.sqrt(sum);
+                } else {
+                    factor[rowOffset + column] = sum / factor[columnOffset + column];
+                }
+            }
+        }
+        return factor;
+    }
+
+    /**
+     * Calculates the determinant from the Cholesky factor as the square of the product of its diagonal.
+     *
+     * @param factor Packed Cholesky factor
+     * @return The determinant of the matrix
+     */
+    double choleskyDeterminant(double[] factor) {
+        double product = 1;
+        for (int i = 0; i < size; i++) {
+            product *= factor[index(i, i)];
+        }
+        return product * product;
+    }
+
+    /**
+     * Calculates the inverse from the Cholesky factor as L^-T * L^-1. The inverse of L is lower triangular as well,
+     * so the whole calculation stays in packed form.
+     *
+     * @param factor Packed Cholesky factor
+     * @return The inverse of the matrix
+     */
+    SymmetricMatrix choleskyInverse(double[] factor) {
+        // Invert L by forward substitution, one column at a time
+        double[] inverseFactor = new double[values.length];
+        for (int column = 0; column < size; column++) {
+            inverseFactor[index(column, column)] = 1 / factor[index(column, column)];
+            for (int row = column + 1; row < size; row++) {
+                int rowOffset = index(row, 0);
+                double sum = 0;
+                for (int k = column; k < row; k++) {
+                    sum -= factor[rowOffset + k] * inverseFactor[index(k, column)];
+                }
+                inverseFactor[rowOffset + column] = sum / factor[rowOffset + row];
+            }
+        }
+        // The (row, column) value of L^-T * L^-1 is the dot product of columns row and column of L^-1
+        double[] ret = new double[values.length];
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column <= row; column++) {
+                double sum = 0;
+                for (int k = row; k < size; k++) {
+                    int offset = index(k, 0);
+                    sum += inverseFactor[offset + row] * inverseFactor[offset + column];
+                }
+                ret[index(row, column)] = sum;
+            }
+        }
+        return new SymmetricMatrix(size, ret);
+    }
+
+    /**
+     * Returns the position of a value of the lower triangle in the packed array.
+     *
+     * @param row    Row of the value, at least as large as column
+     * @param column Column of the value
+     * @return Index in the packed array
+     */
+    static int index(int row, int column) {
+        return (int) ((long) row * (row + 1) / 2) + column;
+    }
+
+    /**
+     * Returns the length of the packed array for a matrix of the given size.
+     *
+     * @param size Length of the sides of the matrix
+     * @return Length of the packed array
+     */
+    static int packedLength(int size) {
+        long length = (long) size * (size + 1) / 2;
+        if (size < 1 || length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Matrix size must be positive and its lower triangle must fit into " +
+                    "an array");
+        }
+        return (int) length;
+    }
+
+    private int checkedIndex(int row, int column) {
+        if (row < 0 || column < 0 || row >= size || column >= size) {
+            throw new IllegalArgumentException("Index must be within the matrix");
+        }
+        return row >= column ? index(row, column) : index(column, row);
+    }
+}
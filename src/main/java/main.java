@@ -43,6 +43,12 @@ public class main {
         long endStrassen = System.currentTimeMillis();
         System.out.println("This took " + (endStrassen - startStrassen) + " milliseconds.");
 
+        System.out.println("\nThe product of a matrix and its own transpose is symmetric, so multiplyByOwnTranspose only calculates half of it.");
+        long startSymmetric = System.currentTimeMillis();
+        MatrixCalc.multiplyByOwnTranspose(randomMatrix);
+        long endSymmetric = System.currentTimeMillis();
+        System.out.println("Multiplying the same matrix with its transpose took " + (endSymmetric - startSymmetric) + " milliseconds.");
+
         System.out.println("\nWe can also calculate the determinant of a matrix. For the first of our matrices this is " + MatrixCalc.determinant(matrixA));
         System.out.println("Since it's not zero, we can also calculate the inversion matrix for our first matrix,which is...");
         System.out.println("\n");
@@ -0,0 +1,156 @@
+package MatrixCalc;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DistributedMultiplierTest {
+    private Random numberGenerator = new Random();
+    private List<Process> workerProcesses = new ArrayList<>();
+
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @After
+    public void stopWorkers() {
+        for (Process process : workerProcesses) {
+            process.destroy();
+        }
+    }
+
+    @Test
+    public void constructorThrowsExceptionWithoutWorkers() {
+        exception.expect(IllegalArgumentException.class);
+        new DistributedMultiplier(new ArrayList<InetSocketAddress>(), 4, 0);
+    }
+
+    @Test
+    public void multiplyThrowsExceptionWithIncompatibleMatrices() throws IOException {
+        List<InetSocketAddress> workers = new ArrayList<>();
+        workers.add(unusedAddress());
+        DistributedMultiplier multiplier = new DistributedMultiplier(workers, 4, 0);
+        exception.expect(IllegalArgumentException.class);
+        multiplier.multiply(new double[2][2], new double[3][2]);
+    }
+
+    @Test
+    public void multiplyOnWorkerProcessesMatchesLocalResult() throws IOException {
+        List<InetSocketAddress> workers = new ArrayList<>();
+        workers.add(startWorkerProcess());
+        workers.add(startWorkerProcess());
+        // An unreachable worker must not prevent the others from finishing
+        workers.add(unusedAddress());
+        double[][] matrixA = createMatrix(13, 9);
+        double[][] matrixB = createMatrix(9, 11);
+        double[][] result = new DistributedMultiplier(workers, 4, 10000).multiply(matrixA, matrixB);
+        assertMatricesEqual(MatrixCalc.multiply(matrixA, matrixB), result);
+    }
+
+    @Test
+    public void multiplyWithInnerSizeAboveCutoffMatchesLocalResult() throws IOException {
+        MatrixWorker worker = new MatrixWorker(0);
+        worker.start();
+        try {
+            List<InetSocketAddress> workers = new ArrayList<>();
+            workers.add(new InetSocketAddress("localhost", worker.getPort()));
+            int innerSize = MatrixCalc.getStrassenCutoff() + 43;
+            double[][] matrixA = createMatrix(24, innerSize);
+            double[][] matrixB = createMatrix(innerSize, 20);
+            double[][] result = new DistributedMultiplier(workers, 8, 10000).multiply(matrixA, matrixB);
+            assertMatricesEqual(MatrixCalc.multiply(matrixA, matrixB), result);
+        } finally {
+            worker.close();
+        }
+    }
+
+    @Test
+    public void tilesOfFailedWorkerAreReassigned() throws IOException {
+        MatrixWorker worker = new MatrixWorker(0);
+        worker.start();
+        final ServerSocket failingWorker = new ServerSocket(0);
+        // Accepts the connection and drops it once the first tile has been sent
+        Thread failingThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try (Socket socket = failingWorker.accept()) {
+                    socket.getInputStream().read();
+                } catch (IOException e) {
+                    // Closed by the test
+                }
+            }
+        });
+        failingThread.start();
+        try {
+            List<InetSocketAddress> workers = new ArrayList<>();
+            workers.add(new InetSocketAddress("localhost", failingWorker.getLocalPort()));
+            workers.add(new InetSocketAddress("localhost", worker.getPort()));
+            double[][] matrixA = createMatrix(8, 8);
+            double[][] matrixB = createMatrix(8, 8);
+            double[][] result = new DistributedMultiplier(workers, 2, 10000).multiply(matrixA, matrixB);
+            assertMatricesEqual(MatrixCalc.multiply(matrixA, matrixB), result);
+        } finally {
+            failingWorker.close();
+            worker.close();
+        }
+    }
+
+    @Test
+    public void multiplyThrowsExceptionWhenAllWorkersFail() throws IOException {
+        List<InetSocketAddress> workers = new ArrayList<>();
+        workers.add(unusedAddress());
+        DistributedMultiplier multiplier = new DistributedMultiplier(workers, 4, 0);
+        exception.expect(IllegalStateException.class);
+        multiplier.multiply(createMatrix(5, 5), createMatrix(5, 5));
+    }
+
+    private InetSocketAddress startWorkerProcess() throws IOException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                MatrixWorker.class.getName(), "0");
+        Process process = builder.start();
+        workerProcesses.add(process);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+        int port = Integer.parseInt(reader.readLine().trim());
+        return new InetSocketAddress("localhost", port);
+    }
+
+    private InetSocketAddress unusedAddress() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return new InetSocketAddress("localhost", socket.getLocalPort());
+        }
+    }
+
+    private double[][] createMatrix(int rows, int columns) {
+        double[][] ret = new double[rows][columns];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                ret[row][column] = numberGenerator.nextDouble();
+            }
+        }
+        return ret;
+    }
+
+    private void assertMatricesEqual(double[][] expected, double[][] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int row = 0; row < expected.length; row++) {
+            assertEquals(expected[row].length, actual[row].length);
+            for (int column = 0; column < expected[row].length; column++) {
+                assertEquals(expected[row][column], actual[row][column], 0.0001);
+            }
+        }
+    }
+}
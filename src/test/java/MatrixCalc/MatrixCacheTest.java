@@ -0,0 +1,136 @@
+package MatrixCalc;
+
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.junit.Assert.*;
+
+public class MatrixCacheTest {
+    private final double[][] testMatrix = {{2,3,1,5}, {1,0,3,1}, {0,2,-3,2}, {0,2,3,1}};
+
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void constructorThrowsExceptionWithInvalidLimits() {
+        exception.expect(IllegalArgumentException.class);
+        new MatrixCache(0, 1024);
+    }
+
+    @Test
+    public void invertThrowsExceptionWithRectangularMatrix() {
+        MatrixCache cache = new MatrixCache(10, 1 << 20);
+        exception.expect(IllegalArgumentException.class);
+        cache.invert(new double[3][2]);
+    }
+
+    @Test
+    public void repeatedCallsAreServedFromCache() {
+        MatrixCache cache = new MatrixCache(10, 1 << 20);
+        double first = cache.determinant(testMatrix);
+        double second = cache.determinant(copy(testMatrix));
+        assertEquals(1, first, 0.00001);
+        assertEquals(first, second, 0);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void operationsAreCachedSeparately() {
+        MatrixCache cache = new MatrixCache(10, 1 << 20);
+        cache.invert(testMatrix);
+        cache.determinant(testMatrix);
+        cache.multiply(testMatrix, testMatrix);
+        assertEquals(0, cache.getHits());
+        assertEquals(3, cache.getSize());
+    }
+
+    @Test
+    public void changedInputIsNotServedFromCache() {
+        MatrixCache cache = new MatrixCache(10, 1 << 20);
+        double[][] matrix = copy(testMatrix);
+        cache.determinant(matrix);
+        matrix[0][0] = 3;
+        assertEquals(MatrixCalc.determinant(matrix), cache.determinant(matrix), 0.00001);
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void returnedMatrixCannotCorruptCache() {
+        MatrixCache cache = new MatrixCache(10, 1 << 20);
+        double[][] result = cache.invert(testMatrix);
+        result[0][0] = 1000;
+        assertEquals(18, cache.invert(testMatrix)[0][0], 0.001);
+    }
+
+    @Test
+    public void sharedResultsAreReturnedWithoutCopy() {
+        MatrixCache cache = new MatrixCache(10, 1 << 20, false);
+        assertSame(cache.invert(testMatrix), cache.invert(testMatrix));
+    }
+
+    @Test
+    public void leastRecentlyUsedEntryIsEvicted() {
+        MatrixCache cache = new MatrixCache(2, 1 << 20);
+        double[][] other = {{1, 2}, {3, 4}};
+        double[][] third = {{5}};
+        cache.determinant(testMatrix);
+        cache.determinant(other);
+        cache.determinant(testMatrix);
+        cache.determinant(third);
+        assertEquals(2, cache.getSize());
+        cache.determinant(testMatrix);
+        assertEquals(2, cache.getHits());
+        cache.determinant(other);
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    public void cacheStaysWithinByteLimit() {
+        // Each 4x4 inversion entry holds 16 operand values and 16 result values
+        MatrixCache cache = new MatrixCache(10, 2 * 32 * 8);
+        for (int i = 0; i < 5; i++) {
+            double[][] matrix = copy(testMatrix);
+            matrix[3][3] += i;
+            cache.invert(matrix);
+            assertTrue(cache.getBytes() <= 2 * 32 * 8);
+        }
+        assertEquals(2, cache.getSize());
+    }
+
+    @Test
+    public void clearRemovesAllEntries() {
+        MatrixCache cache = new MatrixCache(10, 1 << 20);
+        cache.multiply(testMatrix, testMatrix);
+        cache.clear();
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getBytes());
+    }
+
+    @Test
+    public void smallInverseIsServedFromCacheAndLeavesInputUnchanged() {
+        MatrixCache cache = new MatrixCache(10, 1 << 20);
+        double[][] matrix = {{4, 7}, {2, 6}};
+        for (int i = 0; i < 3; i++) {
+            double[][] inverse = cache.invert(matrix);
+            assertArrayEquals(new double[]{0.6, -0.7}, inverse[0], 0.00001);
+            assertArrayEquals(new double[]{-0.2, 0.4}, inverse[1], 0.00001);
+        }
+        assertTrue(Arrays.deepEquals(new double[][]{{4, 7}, {2, 6}}, matrix));
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getSize());
+    }
+
+    private double[][] copy(double[][] matrix) {
+        double[][] ret = new double[matrix.length][];
+        for (int row = 0; row < matrix.length; row++) {
+            ret[row] = matrix[row].clone();
+        }
+        return ret;
+    }
+}
@@ -106,6 +106,44 @@ public class MatrixCalcTest {
         }
     }
 
+    @Test
+    public void parallelAddThrowsExceptionWithJaggedMatrix() {
+        double[][] invalidMatrix = createMatrix(40);
+        invalidMatrix[27] = new double[39];
+        MatrixCalc.setParallelThreshold(1);
+        try {
+            exception.expect(IllegalArgumentException.class);
+            MatrixCalc.add(invalidMatrix, createMatrix(40));
+        } finally {
+            MatrixCalc.setParallelThreshold(1 << 16);
+        }
+    }
+
+    @Test
+    public void parallelElementwiseOperationsMatchSequentialResults() {
+        double[][] matrixA = createMatrix(300);
+        double[][] matrixB = createMatrix(300);
+        double scalar = numberGenerator.nextDouble();
+        MatrixCalc.setParallelThreshold(1);
+        double[][] sum = MatrixCalc.add(matrixA, matrixB);
+        double[][] difference = MatrixCalc.subtract(matrixA, matrixB);
+        double[][] scaled = MatrixCalc.scale(matrixA, scalar);
+        MatrixCalc.setParallelThreshold(1 << 16);
+        for (int row = 0; row < matrixA.length; row++) {
+            for (int column = 0; column < matrixA[0].length; column++) {
+                assertEquals(matrixA[row][column] + matrixB[row][column], sum[row][column], 0);
+                assertEquals(matrixA[row][column] - matrixB[row][column], difference[row][column], 0);
+                assertEquals(matrixA[row][column] * scalar, scaled[row][column], 0);
+            }
+        }
+    }
+
+    @Test
+    public void parallelThresholdIsNotSetToLessThanOne() {
+        MatrixCalc.setParallelThreshold(0);
+        assertNotEquals(0, MatrixCalc.getParallelThreshold());
+    }
+
     @Test
     public void multiplyThrowsExceptionWithJaggedMatrix() {
         double[][] invalidMatrix = {{0,1,2}, {0,1,2,3}, {0,1,2}};
@@ -171,6 +209,68 @@ public class MatrixCalcTest {
         }
     }
 
+    @Test
+    public void multiplyWinogradVariantMatchesNaiveResult() {
+        //Cutoff is set to 3 so several levels of the Strassen-Winograd recursion will be tested
+        MatrixCalc.setStrassenCutoff(3);
+        MatrixCalc.setStrassenVariant(MatrixCalc.StrassenVariant.WINOGRAD);
+        double[][] matrixA = createMatrix(11);
+        double[][] matrixB = createMatrix(11);
+        double[][] result = MatrixCalc.multiply(matrixA, matrixB);
+        MatrixCalc.setStrassenVariant(MatrixCalc.StrassenVariant.CLASSIC);
+        MatrixCalc.setStrassenCutoff(257);
+        double[][] expected = MatrixCalc.multiply(matrixA, matrixB);
+        assertEquals(expected.length, result.length);
+        assertEquals(expected[0].length, result[0].length);
+        for (int row = 0; row < expected.length; row++) {
+            for (int column = 0; column < expected[0].length; column++) {
+                assertEquals(expected[row][column], result[row][column], 0.0001);
+            }
+        }
+    }
+
+    @Test
+    public void strassenVariantIsNotSetToNull() {
+        MatrixCalc.setStrassenVariant(MatrixCalc.StrassenVariant.CLASSIC);
+        MatrixCalc.setStrassenVariant(null);
+        assertEquals(MatrixCalc.StrassenVariant.CLASSIC, MatrixCalc.getStrassenVariant());
+    }
+
+    @Test
+    public void budgetedMultiplyReducesRecursionToFitBudget() {
+        MatrixCalc.setStrassenCutoff(3);
+        double[][] matrixA = createMatrix(40);
+        double[][] matrixB = createMatrix(40);
+        // Only enough for the result of the naive method
+        double[][] result = MatrixCalc.multiply(matrixA, matrixB, 40 * 40 * 8);
+        MatrixCalc.setStrassenCutoff(257);
+        assertMatricesEqual(MatrixCalc.multiply(matrixA, matrixB), result);
+    }
+
+    @Test
+    public void budgetedMultiplyThrowsExceptionWhenNothingFits() {
+        double[][] matrixA = createMatrix(40);
+        exception.expect(IllegalArgumentException.class);
+        MatrixCalc.multiply(matrixA, matrixA, 40 * 40 * 8 - 1);
+    }
+
+    @Test
+    public void budgetedInvertMatchesUnbudgetedResult() {
+        MatrixCalc.setStrassenCutoff(3);
+        double[][] matrix = createDiagonallyDominantMatrix(20);
+        long budget = MemoryEstimator.invertBytes(20, 64, MatrixCalc.StrassenVariant.CLASSIC);
+        assertTrue(budget < MemoryEstimator.invertBytes(20));
+        double[][] result = MatrixCalc.invert(matrix, budget);
+        MatrixCalc.setStrassenCutoff(257);
+        assertMatricesEqual(MatrixCalc.invert(matrix), result);
+    }
+
+    @Test
+    public void budgetedInvertThrowsExceptionWhenNothingFits() {
+        exception.expect(IllegalArgumentException.class);
+        MatrixCalc.invert(createDiagonallyDominantMatrix(20), 20 * 20 * 8);
+    }
+
     @Test
     public void strassenCutoffSetWorksProperly() {
         MatrixCalc.setStrassenCutoff(15);
@@ -245,6 +345,250 @@ public class MatrixCalcTest {
         }
     }
 
+    @Test
+    public void updateInverseThrowsExceptionWithMismatchedVectors() {
+        double[][] inverse = MatrixCalc.invert(createDiagonallyDominantMatrix(4));
+        exception.expect(IllegalArgumentException.class);
+        MatrixCalc.updateInverse(inverse, new double[4], new double[3]);
+    }
+
+    @Test
+    public void updateInverseThrowsExceptionWithMismatchedUpdateMatrices() {
+        double[][] inverse = MatrixCalc.invert(createDiagonallyDominantMatrix(4));
+        exception.expect(IllegalArgumentException.class);
+        MatrixCalc.updateInverse(inverse, new double[4][2], new double[4][3]);
+    }
+
+    @Test
+    public void updateInverseRowThrowsExceptionWithInvalidRow() {
+        double[][] inverse = MatrixCalc.invert(createDiagonallyDominantMatrix(4));
+        exception.expect(IllegalArgumentException.class);
+        MatrixCalc.updateInverseRow(inverse, 4, new double[4]);
+    }
+
+    @Test
+    public void rankOneUpdateMatchesFullInversion() {
+        double[][] matrix = createDiagonallyDominantMatrix(6);
+        double[] u = createVector(6);
+        double[] v = createVector(6);
+        double[][] updated = new double[6][6];
+        for (int row = 0; row < 6; row++) {
+            for (int column = 0; column < 6; column++) {
+                updated[row][column] = matrix[row][column] + u[row] * v[column];
+            }
+        }
+        double[][] inverse = MatrixCalc.invert(matrix);
+        assertMatricesEqual(MatrixCalc.invert(updated), MatrixCalc.updateInverse(inverse, u, v));
+        assertEquals(MatrixCalc.determinant(updated),
+                MatrixCalc.updateDeterminant(MatrixCalc.determinant(matrix), inverse, u, v), 0.0001);
+    }
+
+    @Test
+    public void rankKUpdateMatchesFullInversion() {
+        double[][] matrix = createDiagonallyDominantMatrix(6);
+        double[][] u = new double[6][];
+        double[][] v = new double[6][];
+        for (int row = 0; row < 6; row++) {
+            u[row] = createVector(2);
+            v[row] = createVector(2);
+        }
+        double[][] updated = MatrixCalc.add(matrix, MatrixCalc.multiply(u, transpose(v)));
+        double[][] inverse = MatrixCalc.invert(matrix);
+        assertMatricesEqual(MatrixCalc.invert(updated), MatrixCalc.updateInverse(inverse, u, v));
+        assertEquals(MatrixCalc.determinant(updated),
+                MatrixCalc.updateDeterminant(MatrixCalc.determinant(matrix), inverse, u, v), 0.0001);
+    }
+
+    @Test
+    public void rankKUpdateAboveCutoffMatchesFullInversion() {
+        MatrixCalc.setStrassenCutoff(16);
+        double[][] matrix = createDiagonallyDominantMatrix(40);
+        double[][] u = new double[40][];
+        double[][] v = new double[40][];
+        for (int row = 0; row < 40; row++) {
+            u[row] = createVector(3);
+            v[row] = createVector(3);
+        }
+        double[][] updated = MatrixCalc.add(matrix, naiveProduct(u, transpose(v)));
+        double[][] inverse = MatrixCalc.invert(matrix);
+        double[][] updatedInverse = MatrixCalc.updateInverse(inverse, u, v);
+        double determinant = MatrixCalc.updateDeterminant(MatrixCalc.determinant(matrix), inverse, u, v);
+        MatrixCalc.setStrassenCutoff(257);
+        assertMatricesEqual(MatrixCalc.invert(updated), updatedInverse);
+        assertEquals(1, determinant / MatrixCalc.determinant(updated), 0.0001);
+    }
+
+    @Test
+    public void rowColumnAndEntryUpdatesMatchFullInversion() {
+        double[][] matrix = createDiagonallyDominantMatrix(5);
+        double[][] inverse = MatrixCalc.invert(matrix);
+        double[] change = createVector(5);
+
+        double[][] rowUpdated = MatrixCalc.add(matrix, new double[5][5]);
+        double[][] columnUpdated = MatrixCalc.add(matrix, new double[5][5]);
+        for (int i = 0; i < 5; i++) {
+            rowUpdated[2][i] += change[i];
+            columnUpdated[i][3] += change[i];
+        }
+        double[][] entryUpdated = MatrixCalc.add(matrix, new double[5][5]);
+        entryUpdated[1][4] += 0.5;
+
+        assertMatricesEqual(MatrixCalc.invert(rowUpdated), MatrixCalc.updateInverseRow(inverse, 2, change));
+        assertMatricesEqual(MatrixCalc.invert(columnUpdated), MatrixCalc.updateInverseColumn(inverse, 3, change));
+        assertMatricesEqual(MatrixCalc.invert(entryUpdated), MatrixCalc.updateInverseEntry(inverse, 1, 4, 0.5));
+    }
+
+    @Test
+    public void bandedMultiplyMatchesNaiveResult() {
+        double[][] banded = createMatrix(40);
+        double[][] dense = createMatrix(40);
+        for (int row = 0; row < 40; row++) {
+            for (int column = 0; column < 40; column++) {
+                if (column < row - 2 || column > row + 3) {
+                    banded[row][column] = 0;
+                }
+            }
+        }
+        MatrixCalc.setStrassenCutoff(257);
+        assertMatricesEqual(naiveProduct(banded, dense), MatrixCalc.multiply(banded, dense));
+        assertMatricesEqual(naiveProduct(dense, banded), MatrixCalc.multiply(dense, banded));
+    }
+
+    @Test
+    public void bandedMultiplyKeepsNaNFromInfiniteValues() {
+        double[][] diagonal = new double[8][8];
+        for (int i = 0; i < 8; i++) {
+            diagonal[i][i] = 1;
+        }
+        double[][] matrix = createMatrix(8);
+        matrix[0][0] = Double.POSITIVE_INFINITY;
+        double[][] result = MatrixCalc.multiply(diagonal, matrix);
+        assertEquals(Double.POSITIVE_INFINITY, result[0][0], 0);
+        assertTrue(Double.isNaN(result[1][0]));
+    }
+
+    @Test
+    public void triangularDeterminantIsProductOfDiagonal() {
+        double[][] matrix = {{2, 0, 0, 0, 0}, {3, -1, 0, 0, 0}, {1, 5, 4, 0, 0}, {2, 2, 2, 0.5, 0}, {7, 1, 1, 1, 3}};
+        assertEquals(-12, MatrixCalc.determinant(matrix), 0.00001);
+        assertEquals(-12, MatrixCalc.determinant(transpose(matrix)), 0.00001);
+    }
+
+    @Test
+    public void triangularShortcutsKeepNaNFromInfiniteValues() {
+        double[][] matrix = {{1, 0}, {Double.POSITIVE_INFINITY, 1}};
+        assertTrue(Double.isNaN(MatrixCalc.determinant(matrix)));
+        assertTrue(Double.isNaN(MatrixCalc.determinant(new double[][]{{1, 0, 0}, {Double.POSITIVE_INFINITY, 1, 0},
+                {0, 0, 1}})));
+        assertTrue(Double.isNaN(MatrixCalc.determinant(new double[][]{{1, 2, 0}, {3, 1, 2},
+                {0, Double.POSITIVE_INFINITY, 1}})));
+        assertTrue(Double.isNaN(MatrixCalc.invert(matrix)[1][1]));
+    }
+
+    @Test
+    public void tridiagonalDeterminantReturnsCorrectResult() {
+        double[][] matrix = {{2, -1, 0, 0, 0}, {-1, 2, -1, 0, 0}, {0, -1, 2, -1, 0}, {0, 0, -1, 2, -1},
+                {0, 0, 0, -1, 2}};
+        // The determinant of the n x n second difference matrix is n + 1
+        assertEquals(6, MatrixCalc.determinant(matrix), 0.00001);
+    }
+
+    @Test
+    public void triangularInverseReturnsCorrectResult() {
+        double[][] lower = createDiagonallyDominantMatrix(6);
+        for (int row = 0; row < 6; row++) {
+            for (int column = row + 1; column < 6; column++) {
+                lower[row][column] = 0;
+            }
+        }
+        assertMatricesEqual(identity(6), naiveProduct(lower, MatrixCalc.invert(lower)));
+        double[][] upper = transpose(lower);
+        assertMatricesEqual(identity(6), naiveProduct(upper, MatrixCalc.invert(upper)));
+    }
+
+    @Test
+    public void solveTriangularThrowsExceptionWithDenseMatrix() {
+        exception.expect(IllegalArgumentException.class);
+        MatrixCalc.solveTriangular(createMatrix(4), new double[4]);
+    }
+
+    @Test
+    public void solveTriangularReturnsCorrectResult() {
+        double[][] matrix = {{2, 0, 0}, {1, 1, 0}, {3, 2, 1}};
+        assertArrayEquals(new double[]{1, 2, 3}, MatrixCalc.solveTriangular(matrix, new double[]{2, 3, 10}), 0.00001);
+        assertArrayEquals(new double[]{3, 1, 1},
+                MatrixCalc.solveTriangular(transpose(matrix), new double[]{10, 3, 1}), 0.00001);
+    }
+
+    @Test
+    public void solveTridiagonalThrowsExceptionWithMismatchedDiagonals() {
+        exception.expect(IllegalArgumentException.class);
+        MatrixCalc.solveTridiagonal(new double[3], new double[3], new double[2], new double[3]);
+    }
+
+    @Test
+    public void solveTridiagonalReturnsCorrectResult() {
+        double[] solution = MatrixCalc.solveTridiagonal(new double[]{-1, -1, -1}, new double[]{2, 2, 2, 2},
+                new double[]{-1, -1, -1}, new double[]{1, 0, 0, 1});
+        assertArrayEquals(new double[]{1, 1, 1, 1}, solution, 0.00001);
+    }
+
+    private double[][] naiveProduct(double[][] first, double[][] second) {
+        double[][] ret = new double[first.length][second[0].length];
+        for (int row = 0; row < first.length; row++) {
+            for (int column = 0; column < second[0].length; column++) {
+                for (int k = 0; k < second.length; k++) {
+                    ret[row][column] += first[row][k] * second[k][column];
+                }
+            }
+        }
+        return ret;
+    }
+
+    private double[][] identity(int size) {
+        double[][] ret = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            ret[i][i] = 1;
+        }
+        return ret;
+    }
+
+    private double[][] createDiagonallyDominantMatrix(int size) {
+        double[][] ret = createMatrix(size);
+        for (int i = 0; i < size; i++) {
+            ret[i][i] += size;
+        }
+        return ret;
+    }
+
+    private double[] createVector(int size) {
+        double[] ret = new double[size];
+        for (int i = 0; i < size; i++) {
+            ret[i] = numberGenerator.nextDouble();
+        }
+        return ret;
+    }
+
+    private double[][] transpose(double[][] matrix) {
+        double[][] ret = new double[matrix[0].length][matrix.length];
+        for (int row = 0; row < matrix.length; row++) {
+            for (int column = 0; column < matrix[0].length; column++) {
+                ret[column][row] = matrix[row][column];
+            }
+        }
+        return ret;
+    }
+
+    private void assertMatricesEqual(double[][] expected, double[][] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int row = 0; row < expected.length; row++) {
+            assertEquals(expected[row].length, actual[row].length);
+            for (int column = 0; column < expected[row].length; column++) {
+                assertEquals(expected[row][column], actual[row][column], 0.0001);
+            }
+        }
+    }
+
     private double[][] createMatrix(int size) {
         double[][] ret = new double[size][size];
         for (int row = 0; row < size; row++) {
@@ -0,0 +1,86 @@
+package MatrixCalc;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MemoryEstimatorTest {
+
+    @After
+    public void resetCutoff() {
+        MatrixCalc.setStrassenCutoff(257);
+        MatrixCalc.setStrassenVariant(MatrixCalc.StrassenVariant.CLASSIC);
+    }
+
+    @Test
+    public void naiveMultiplicationOnlyAllocatesResult() {
+        MatrixCalc.setStrassenCutoff(257);
+        assertEquals(100L * 30 * 8, MemoryEstimator.multiplyBytes(100, 50, 30));
+    }
+
+    @Test
+    public void strassenMultiplicationNeedsMoreThanNaive() {
+        MatrixCalc.setStrassenCutoff(257);
+        long naive = MemoryEstimator.multiplyBytes(200, 200, 200);
+        MatrixCalc.setStrassenCutoff(3);
+        long strassen = MemoryEstimator.multiplyBytes(200, 200, 200);
+        assertTrue(strassen > naive);
+    }
+
+    @Test
+    public void deeperRecursionNeverNeedsLessMemory() {
+        MatrixCalc.setStrassenCutoff(64);
+        long shallow = MemoryEstimator.multiplyBytes(512, 512, 512);
+        MatrixCalc.setStrassenCutoff(8);
+        long deep = MemoryEstimator.multiplyBytes(512, 512, 512);
+        assertTrue(deep >= shallow);
+    }
+
+    @Test
+    public void winogradVariantIsEstimated() {
+        MatrixCalc.setStrassenCutoff(3);
+        MatrixCalc.setStrassenVariant(MatrixCalc.StrassenVariant.WINOGRAD);
+        assertTrue(MemoryEstimator.multiplyBytes(64, 64, 64) > 64L * 64 * 8);
+    }
+
+    @Test
+    public void inversionNeedsAtLeastTwiceTheResult() {
+        assertTrue(MemoryEstimator.invertBytes(100) >= 2L * 100 * 100 * 8);
+        assertEquals(4L * 8, MemoryEstimator.invertBytes(2));
+    }
+
+    @Test
+    public void classicMultiplicationMatchesAllocationCount() {
+        // 2x2 level: 8 quarters, then the result next to 7 helpers and 4 result quarters, 8 + 11 + 4 = 23 values.
+        // 4x4 level: 8 quarters of 4, and the combination step with 7 + 4 quarters and the result dominates the 6
+        // helpers, 2 operands and the 2x2 level, 32 + max(32 + 23, 44 + 16) = 92 values
+        assertEquals(92L * 8, MemoryEstimator.multiplyBytes(4, 4, 4, 3, MatrixCalc.StrassenVariant.CLASSIC));
+    }
+
+    @Test
+    public void winogradMultiplicationMatchesAllocationCount() {
+        // 2x2 level: 8 quarters and 8 sums, then the result next to 7 helpers, 2 shared sums and 4 result quarters,
+        // 16 + 13 + 4 = 33 values. 4x4 level: 64 + max(24 + 33, 52 + 16) = 132 values
+        assertEquals(132L * 8, MemoryEstimator.multiplyBytes(4, 4, 4, 3, MatrixCalc.StrassenVariant.WINOGRAD));
+    }
+
+    @Test
+    public void paddedMultiplicationMatchesAllocationCount() {
+        // Both 3x3 operands are padded to 4x4, which adds 2 * 16 values to the 92 values of the 4x4 recursion
+        assertEquals(124L * 8, MemoryEstimator.multiplyBytes(3, 3, 3, 3, MatrixCalc.StrassenVariant.CLASSIC));
+    }
+
+    @Test
+    public void inversionMatchesAllocationCount() {
+        // 4x4: 16 values of quarters. The 2x2 products are naive, and the longest product chains hold the 3 finished
+        // quarters and two products of 4 values, 16 + 12 + 8 = 36 values. The 4 result quarters and the result
+        // finally take 16 + 16 + 16 = 48 values
+        assertEquals(48L * 8, MemoryEstimator.invertBytes(4, 3, MatrixCalc.StrassenVariant.CLASSIC));
+        // 3x3: a 2x2 top left and a 1x1 bottom right quarter, 9 values. The top right quarter is calculated from the
+        // negated 2x2 c11 and a 2x1 product next to the quarters, c11 and c22, 9 + 5 + 4 + 2 = 20 values, and the
+        // bottom left one next to the other 3 result quarters, 9 + 7 + 2 + 2 = 20 values. The result finally takes
+        // 27 values
+        assertEquals(27L * 8, MemoryEstimator.invertBytes(3, 3, MatrixCalc.StrassenVariant.CLASSIC));
+    }
+}
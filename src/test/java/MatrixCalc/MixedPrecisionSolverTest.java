@@ -0,0 +1,98 @@
+package MatrixCalc;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MixedPrecisionSolverTest {
+    private Random numberGenerator = new Random();
+
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void solveThrowsExceptionWithRectangularMatrix() {
+        exception.expect(IllegalArgumentException.class);
+        MixedPrecisionSolver.solve(new double[3][2], new double[3]);
+    }
+
+    @Test
+    public void solveThrowsExceptionWithMismatchedVector() {
+        exception.expect(IllegalArgumentException.class);
+        MixedPrecisionSolver.solve(new double[3][3], new double[2]);
+    }
+
+    @Test
+    public void solveThrowsExceptionWithNegativeIterationLimit() {
+        exception.expect(IllegalArgumentException.class);
+        MixedPrecisionSolver.solve(new double[][]{{2, 1}, {1, 2}}, new double[2], -1);
+    }
+
+    @Test
+    public void wellConditionedSystemReachesDoubleAccuracyWithRefinement() {
+        int size = 40;
+        double[][] matrix = new double[size][size];
+        double[] expected = new double[size];
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                matrix[row][column] = numberGenerator.nextDouble();
+            }
+            matrix[row][row] += size;
+            expected[row] = numberGenerator.nextDouble();
+        }
+        double[] vector = new double[size];
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                vector[row] += matrix[row][column] * expected[column];
+            }
+        }
+        MixedPrecisionSolver.Result result = MixedPrecisionSolver.solve(matrix, vector);
+        assertFalse(result.usedDoubleFallback());
+        assertTrue(result.getIterations() > 0);
+        assertTrue(result.getResidual() < 1e-12);
+        for (int i = 0; i < size; i++) {
+            assertEquals(expected[i], result.getSolution()[i], 1e-12);
+        }
+    }
+
+    @Test
+    public void illConditionedSystemFallsBackToDoublePrecision() {
+        // Hilbert matrices are too ill-conditioned for single precision factors to converge
+        int size = 10;
+        double[][] matrix = new double[size][size];
+        double[] vector = new double[size];
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                matrix[row][column] = 1.0 / (row + column + 1);
+                vector[row] += matrix[row][column];
+            }
+        }
+        MixedPrecisionSolver.Result result = MixedPrecisionSolver.solve(matrix, vector);
+        assertTrue(result.usedDoubleFallback());
+        assertTrue(result.getResidual() < 1e-10);
+    }
+
+    @Test
+    public void tridiagonalSystemIsSolvedWithoutRefinement() {
+        double[][] matrix = {{4, 1, 0, 0}, {1, 4, 1, 0}, {0, 1, 4, 1}, {0, 0, 1, 4}};
+        double[] vector = {5, 6, 6, 5};
+        MixedPrecisionSolver.Result result = MixedPrecisionSolver.solve(matrix, vector);
+        assertEquals(0, result.getIterations());
+        assertFalse(result.usedDoubleFallback());
+        for (double value : result.getSolution()) {
+            assertEquals(1, value, 1e-12);
+        }
+    }
+
+    @Test
+    public void tridiagonalSystemWithTinyPivotFallsBackToFactorization() {
+        double[][] matrix = {{1e-20, 1, 0}, {1, 1, 0}, {0, 0, 1}};
+        MixedPrecisionSolver.Result result = MixedPrecisionSolver.solve(matrix, new double[]{1, 2, 1});
+        assertArrayEquals(new double[]{1, 1, 1}, result.getSolution(), 1e-12);
+        assertTrue(result.getResidual() < 1e-12);
+    }
+}
@@ -0,0 +1,98 @@
+package MatrixCalc;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MortonMatrixTest {
+    private Random numberGenerator = new Random();
+
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void fromArrayThrowsExceptionWithJaggedMatrix() {
+        double[][] invalidMatrix = {{0,1,2}, {0,1,2,3}, {0,1,2}};
+        exception.expect(IllegalArgumentException.class);
+        MortonMatrix.fromArray(invalidMatrix, 2);
+    }
+
+    @Test
+    public void fromArrayThrowsExceptionWithInvalidTileSize() {
+        exception.expect(IllegalArgumentException.class);
+        MortonMatrix.fromArray(new double[2][2], 0);
+    }
+
+    @Test
+    public void conversionPreservesValues() {
+        double[][] matrix = createMatrix(7, 11);
+        MortonMatrix morton = MortonMatrix.fromArray(matrix, 2);
+        assertEquals(7, morton.getRows());
+        assertEquals(11, morton.getColumns());
+        assertEquals(matrix[5][9], morton.get(5, 9), 0);
+        assertMatricesEqual(matrix, morton.toArray(), 0);
+    }
+
+    @Test
+    public void multiplyThrowsExceptionWithIncompatibleMatrices() {
+        exception.expect(IllegalArgumentException.class);
+        MatrixCalc.multiply(MortonMatrix.fromArray(new double[2][2], 2), MortonMatrix.fromArray(new double[3][2], 2));
+    }
+
+    @Test
+    public void multiplyMatchesRowMajorResult() {
+        double[][] matrixA = createMatrix(13, 9);
+        double[][] matrixB = createMatrix(9, 21);
+        MortonMatrix result = MatrixCalc.multiply(MortonMatrix.fromArray(matrixA, 2),
+                MortonMatrix.fromArray(matrixB, 2));
+        assertMatricesEqual(MatrixCalc.multiply(matrixA, matrixB), result.toArray(), 0.0001);
+    }
+
+    @Test
+    public void invertThrowsExceptionWithRectangularMatrix() {
+        exception.expect(IllegalArgumentException.class);
+        MatrixCalc.invert(MortonMatrix.fromArray(new double[3][2], 2));
+    }
+
+    @Test
+    public void invertMatchesRowMajorResult() {
+        double[][] matrix = createMatrix(11, 11);
+        for (int i = 0; i < 11; i++) {
+            matrix[i][i] += 11;
+        }
+        MortonMatrix result = MatrixCalc.invert(MortonMatrix.fromArray(matrix, 2));
+        assertMatricesEqual(MatrixCalc.invert(matrix), result.toArray(), 0.0001);
+    }
+
+    @Test
+    public void invertReturnsCorrectResult() {
+        double[][] testMatrix = {{2,3,1,5}, {1,0,3,1}, {0,2,-3,2}, {0,2,3,1}};
+        double[][] expectedMatrix = {{18,-35,-28,1},{9,-18,-14,1},{-2,4,3,0},{-12,24,19,-1}};
+        MortonMatrix result = MatrixCalc.invert(MortonMatrix.fromArray(testMatrix, 1));
+        assertMatricesEqual(expectedMatrix, result.toArray(), 0.001);
+    }
+
+    private double[][] createMatrix(int rows, int columns) {
+        double[][] ret = new double[rows][columns];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                ret[row][column] = numberGenerator.nextDouble();
+            }
+        }
+        return ret;
+    }
+
+    private void assertMatricesEqual(double[][] expected, double[][] actual, double delta) {
+        assertEquals(expected.length, actual.length);
+        for (int row = 0; row < expected.length; row++) {
+            assertEquals(expected[row].length, actual[row].length);
+            for (int column = 0; column < expected[row].length; column++) {
+                assertEquals(expected[row][column], actual[row][column], delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package MatrixCalc;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class StreamingMultiplierTest {
+    private Random numberGenerator = new Random();
+
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void constructorThrowsExceptionWithJaggedMatrix() {
+        double[][] invalidMatrix = {{0,1,2}, {0,1,2,3}, {0,1,2}};
+        exception.expect(IllegalArgumentException.class);
+        new StreamingMultiplier(invalidMatrix, 2, 4);
+    }
+
+    @Test
+    public void constructorThrowsExceptionWithInvalidThreadCount() {
+        exception.expect(IllegalArgumentException.class);
+        new StreamingMultiplier(createMatrix(3, 3), 0, 4);
+    }
+
+    @Test
+    public void multiplyThrowsExceptionWithIncompatibleBlock() {
+        StreamingMultiplier multiplier = new StreamingMultiplier(createMatrix(3, 2), 2, 4);
+        List<double[][]> blocks = new ArrayList<>();
+        blocks.add(createMatrix(5, 4));
+        exception.expect(IllegalArgumentException.class);
+        multiplier.multiply(blocks.iterator(), new CollectingConsumer());
+    }
+
+    @Test
+    public void multiplyMatchesFullMultiplicationInOrder() {
+        double[][] matrixB = createMatrix(6, 4);
+        StreamingMultiplier multiplier = new StreamingMultiplier(matrixB, 3, 2);
+        List<double[][]> blocks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            blocks.add(createMatrix(1 + i % 5, 6));
+        }
+        CollectingConsumer consumer = new CollectingConsumer();
+        long rows = multiplier.multiply(blocks.iterator(), consumer);
+
+        assertEquals(blocks.size(), consumer.results.size());
+        long expectedRows = 0;
+        for (int i = 0; i < blocks.size(); i++) {
+            double[][] expected = MatrixCalc.multiply(blocks.get(i), matrixB);
+            double[][] result = consumer.results.get(i);
+            assertEquals(expected.length, result.length);
+            for (int row = 0; row < expected.length; row++) {
+                for (int column = 0; column < expected[0].length; column++) {
+                    assertEquals(expected[row][column], result[row][column], 0.0001);
+                }
+            }
+            expectedRows += expected.length;
+        }
+        assertEquals(expectedRows, rows);
+    }
+
+    private double[][] createMatrix(int rows, int columns) {
+        double[][] ret = new double[rows][columns];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                ret[row][column] = numberGenerator.nextDouble();
+            }
+        }
+        return ret;
+    }
+
+    private static class CollectingConsumer implements StreamingMultiplier.RowBlockConsumer {
+        private final List<double[][]> results = new ArrayList<>();
+
+        @Override
+        public void accept(double[][] resultBlock) {
+            results.add(resultBlock);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package MatrixCalc;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SymmetricMatrixTest {
+    private Random numberGenerator = new Random();
+
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void fromArrayThrowsExceptionWithRectangularMatrix() {
+        exception.expect(IllegalArgumentException.class);
+        SymmetricMatrix.fromArray(new double[3][2]);
+    }
+
+    @Test
+    public void getThrowsExceptionOutsideMatrix() {
+        SymmetricMatrix matrix = new SymmetricMatrix(3);
+        exception.expect(IllegalArgumentException.class);
+        matrix.get(3, 0);
+    }
+
+    @Test
+    public void setAlsoSetsMirroredValue() {
+        SymmetricMatrix matrix = new SymmetricMatrix(3);
+        matrix.set(0, 2, 5);
+        assertEquals(5, matrix.get(2, 0), 0);
+        assertEquals(5, matrix.toArray()[0][2], 0);
+        assertEquals(5, matrix.toArray()[2][0], 0);
+    }
+
+    @Test
+    public void fromArrayAndToArrayPreserveValues() {
+        double[][] matrix = {{4, 1, 2}, {1, 5, 3}, {2, 3, 6}};
+        double[][] result = SymmetricMatrix.fromArray(matrix).toArray();
+        for (int row = 0; row < 3; row++) {
+            assertArrayEquals(matrix[row], result[row], 0);
+        }
+    }
+
+    @Test
+    public void multiplyByOwnTransposeThrowsExceptionWithJaggedMatrix() {
+        double[][] invalidMatrix = {{0,1,2}, {0,1,2,3}, {0,1,2}};
+        exception.expect(IllegalArgumentException.class);
+        MatrixCalc.multiplyByOwnTranspose(invalidMatrix);
+    }
+
+    @Test
+    public void multiplyByOwnTransposeMatchesFullMultiplication() {
+        // Large enough to be divided into several blocks
+        double[][] matrix = createMatrix(150, 40);
+        double[][] expected = MatrixCalc.multiply(matrix, transpose(matrix));
+        SymmetricMatrix result = MatrixCalc.multiplyByOwnTranspose(matrix);
+        assertEquals(150, result.getSize());
+        assertMatricesEqual(expected, result.toArray());
+    }
+
+    @Test
+    public void positiveDefiniteDeterminantAndInverseMatchGeneralMethods() {
+        double[][] matrix = createMatrix(6, 8);
+        SymmetricMatrix gram = MatrixCalc.multiplyByOwnTranspose(matrix);
+        double[][] full = gram.toArray();
+        assertEquals(MatrixCalc.determinant(full), MatrixCalc.determinant(gram), 0.0001);
+        assertMatricesEqual(MatrixCalc.invert(full), MatrixCalc.invert(gram).toArray());
+    }
+
+    @Test
+    public void indefiniteMatrixFallsBackToGeneralMethods() {
+        double[][] matrix = {{2,3,1,5}, {3,0,3,1}, {1,3,-3,2}, {5,1,2,1}};
+        SymmetricMatrix symmetric = SymmetricMatrix.fromArray(matrix);
+        assertEquals(MatrixCalc.determinant(matrix), MatrixCalc.determinant(symmetric), 0.0001);
+        assertMatricesEqual(MatrixCalc.invert(matrix), MatrixCalc.invert(symmetric).toArray());
+    }
+
+    private double[][] createMatrix(int rows, int columns) {
+        double[][] ret = new double[rows][columns];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                ret[row][column] = numberGenerator.nextDouble();
+            }
+        }
+        return ret;
+    }
+
+    private double[][] transpose(double[][] matrix) {
+        double[][] ret = new double[matrix[0].length][matrix.length];
+        for (int row = 0; row < matrix.length; row++) {
+            for (int column = 0; column < matrix[0].length; column++) {
+                ret[column][row] = matrix[row][column];
+            }
+        }
+        return ret;
+    }
+
+    private void assertMatricesEqual(double[][] expected, double[][] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int row = 0; row < expected.length; row++) {
+            assertEquals(expected[row].length, actual[row].length);
+            for (int column = 0; column < expected[row].length; column++) {
+                assertEquals(expected[row][column], actual[row][column], 0.0001);
+            }
+        }
+    }
+}